@@ -1,11 +1,17 @@
 package com.example.app.base.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "addresses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Address.CACHE_REGION)
 public class Address extends AbstractEntity {
 
+    public static final String CACHE_REGION = "addresses";
+
     @Column(nullable = false, length = 100)
     private String street;
 
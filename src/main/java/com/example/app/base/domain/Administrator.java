@@ -1,9 +1,11 @@
 package com.example.app.base.domain;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "administrators")
+@Cacheable(false)
 public class Administrator extends Person {
 
 }
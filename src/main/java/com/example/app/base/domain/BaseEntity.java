@@ -0,0 +1,39 @@
+package com.example.app.base.domain;
+
+import org.springframework.data.util.ProxyUtils;
+
+/*
+ * Igualdad por clase e id, común a todas las entidades. El id lo declara cada rama: AbstractEntity con IDENTITY, y
+ * Seat y Person con un generador pooled-lo (ver PooledIdRepository) para que sus INSERT se agrupen en lotes JDBC.
+ */
+public abstract class BaseEntity {
+
+    /** Ids reservados por cada visita a la tabla del generador pooled-lo. */
+    public static final int ID_ALLOCATION = 50;
+
+    public abstract Long getId();
+
+    public abstract void setId(Long id);
+
+    @Override
+    public String toString() {
+        return "%s{id=%s}".formatted(getClass().getSimpleName(), getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return ProxyUtils.getUserClass(getClass()).hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) return false;
+        if (obj == this) return true;
+
+        var thisUserClass = ProxyUtils.getUserClass(getClass());
+        var otherUserClass = ProxyUtils.getUserClass(obj);
+        if (!thisUserClass.equals(otherUserClass)) return false;
+
+        return getId() != null && getId().equals(((BaseEntity) obj).getId());
+    }
+}
@@ -2,15 +2,28 @@ package com.example.app.base.domain;
 
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
 
+// Profesor y su domicilio (ambos EAGER) en el mismo SELECT que el curso.
+@NamedEntityGraph(
+    name = Course.WITH_PROFESSOR_GRAPH,
+    attributeNodes = @NamedAttributeNode(value = "professor", subgraph = "professor"),
+    subgraphs = @NamedSubgraph(name = "professor", attributeNodes = @NamedAttributeNode("address"))
+)
 @Entity
 @Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Course.CACHE_REGION)
 public class Course extends AbstractEntity {
 
+    public static final String WITH_PROFESSOR_GRAPH = "Course.withProfessor";
+    public static final String CACHE_REGION = "courses";
+
     @Column(name = "name", nullable = false)
     private String name;
 
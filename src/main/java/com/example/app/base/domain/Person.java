@@ -1,11 +1,26 @@
 package com.example.app.base.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "persons")
 @Inheritance(strategy = InheritanceType.JOINED)
-public abstract class Person extends AbstractEntity {
+// Hibernate sólo admite @Cache en la raíz de la jerarquía; alumnos y administradores la desactivan con
+// @Cacheable(false), así que en la región quedan sólo los profesores.
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Person.CACHE_REGION)
+public abstract class Person extends BaseEntity {
+
+    public static final String CACHE_REGION = "persons";
+    public static final String ID_SEQUENCE = "persons_seq";
+
+    // Compartido por alumnos, profesores y administradores (JOINED): el id de la subclase es el de persons.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION)
+    private Long id;
 
     @Column(nullable = false)
     private String name;
@@ -24,6 +39,11 @@ public abstract class Person extends AbstractEntity {
     private User user;
 
     // Getters y setters
+    @Override
+    public Long getId() { return id; }
+    @Override
+    public void setId(Long id) { this.id = id; }
+
     public String getName() { return name; }
     public void setName(String name) { this.name = name; }
 
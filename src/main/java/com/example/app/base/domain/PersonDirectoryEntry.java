@@ -0,0 +1,64 @@
+package com.example.app.base.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.util.UUID;
+
+/**
+ * Fila de {@code person_directory}: copia plana de una persona (con su tipo, ciudad, usuario y matrícula) para
+ * leerla sin los JOIN de la herencia JOINED. Es un modelo de lectura: la escribe sólo {@code PersonDirectory} con
+ * SQL nativo a partir de las tablas de origen, y se puede reconstruir en cualquier momento.
+ */
+@Entity
+@Immutable
+@Table(name = "person_directory", indexes = {
+        @Index(name = "ix_person_directory_type_name", columnList = "type, name"),
+        @Index(name = "ix_person_directory_email", columnList = "email"),
+        @Index(name = "ix_person_directory_username", columnList = "username"),
+        @Index(name = "ix_person_directory_student_number", columnList = "student_number")
+})
+public class PersonDirectoryEntry {
+
+    public enum Type { STUDENT, PROFESSOR, ADMINISTRATOR }
+
+    @Id
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(nullable = false)
+    private String email;
+
+    private String phone;
+
+    @Column(length = 50)
+    private String city;
+
+    @Column(length = 50)
+    private String username;
+
+    @Column(name = "student_number")
+    private UUID studentNumber;
+
+    protected PersonDirectoryEntry() {}
+
+    public Long getId() { return id; }
+    public Type getType() { return type; }
+    public String getName() { return name; }
+    public String getEmail() { return email; }
+    public String getPhone() { return phone; }
+    public String getCity() { return city; }
+    public String getUsername() { return username; }
+    public UUID getStudentNumber() { return studentNumber; }
+
+    @Override
+    public String toString() {
+        return "PersonDirectoryEntry{id=%s, type=%s}".formatted(id, type);
+    }
+}
@@ -4,12 +4,39 @@ package com.example.app.base.domain;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 
+/*
+ * Plan de carga de las grillas: curso (con su profesor) y alumno, cada uno con su domicilio EAGER, en un único
+ * SELECT con joins. Sin él, cada fila dispara consultas aparte para alumno, domicilio, curso y profesor.
+ */
+@NamedEntityGraph(
+    name = Seat.GRID_GRAPH,
+    attributeNodes = {
+        @NamedAttributeNode(value = "course", subgraph = "course"),
+        @NamedAttributeNode(value = "student", subgraph = "person")
+    },
+    subgraphs = {
+        @NamedSubgraph(name = "course", attributeNodes = @NamedAttributeNode(value = "professor", subgraph = "person")),
+        @NamedSubgraph(name = "person", attributeNodes = @NamedAttributeNode("address"))
+    }
+)
 @Entity
 @Table(
     name = "seats",
-    uniqueConstraints = @UniqueConstraint(columnNames = { "student_id", "course_id" })
+    uniqueConstraints = @UniqueConstraint(
+        name = Seat.UNIQUE_ENROLLMENT,
+        columnNames = { "student_id", "course_id" }
+    )
 )
-public class Seat extends AbstractEntity {
+public class Seat extends BaseEntity {
+
+    public static final String UNIQUE_ENROLLMENT = "uk_seats_student_course";
+    public static final String GRID_GRAPH = "Seat.grid";
+    public static final String ID_SEQUENCE = "seats_seq";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION)
+    private Long id;
 
     @Column(name = "exam_date", nullable = false)
     private LocalDate year;
@@ -27,6 +54,11 @@ public class Seat extends AbstractEntity {
     @JoinColumn(name = "course_id", nullable = false)
     private Course course;
 
+    @Override
+    public Long getId() { return id; }
+    @Override
+    public void setId(Long id) { this.id = id; }
+
     public LocalDate getYear() { return year; }
     public void setYear(LocalDate year) { this.year = year; }
 
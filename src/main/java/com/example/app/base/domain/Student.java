@@ -8,14 +8,23 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "students")
+@Cacheable(false)
 public class Student extends Person {
 
     @Column(name = "student_number", unique = true, nullable = false, updatable = false)
     private UUID studentNumber;
 
-    @Column(name = "avg_mark")
+    // avg_mark, mark_sum y seat_count los mantiene SeatService con UPDATEs puntuales;
+    // la entidad no los escribe para que un alumno editado en pantalla no pise valores más nuevos.
+    @Column(name = "avg_mark", updatable = false)
     private Double avgMark;
 
+    @Column(name = "mark_sum", insertable = false, updatable = false)
+    private Double markSum;
+
+    @Column(name = "seat_count", insertable = false, updatable = false)
+    private Integer seatCount;
+
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Seat> seats = new ArrayList<>();
 
@@ -35,6 +44,9 @@ public class Student extends Person {
     public Double getAvgMark() { return avgMark; }
     public void setAvgMark(Double avgMark) { this.avgMark = avgMark; }
 
+    public Double getMarkSum() { return markSum; }
+    public Integer getSeatCount() { return seatCount; }
+
     public List<Seat> getSeats() { return seats; }
     public void setSeats(List<Seat> seats) { this.seats = seats; }
 
@@ -0,0 +1,6 @@
+package com.example.app.base.query;
+
+import org.jspecify.annotations.Nullable;
+
+public record AdministratorListItem(Long id, @Nullable Long userId, @Nullable String username,
+                                    String name, String email) {}
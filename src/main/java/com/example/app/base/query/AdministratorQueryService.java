@@ -0,0 +1,22 @@
+package com.example.app.base.query;
+
+import com.example.app.base.repository.AdministratorRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class AdministratorQueryService {
+
+    private final AdministratorRepository repo;
+
+    public AdministratorQueryService(AdministratorRepository repo) {
+        this.repo = repo;
+    }
+
+    public List<AdministratorListItem> search(String term) {
+        return repo.findItems(term == null ? "" : term.trim());
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.app.base.query;
+
+import org.jspecify.annotations.Nullable;
+
+public record CourseListItem(Long id, String name, @Nullable Long professorId, @Nullable String professorName) {}
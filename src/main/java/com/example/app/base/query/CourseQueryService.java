@@ -0,0 +1,26 @@
+package com.example.app.base.query;
+
+import com.example.app.base.repository.CourseRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class CourseQueryService {
+
+    private final CourseRepository repo;
+
+    public CourseQueryService(CourseRepository repo) {
+        this.repo = repo;
+    }
+
+    public List<CourseListItem> list(String term, Pageable pageable) {
+        return (term == null || term.isBlank()
+                ? repo.findItemsBy(pageable)
+                : repo.findItemsByName(term.trim(), pageable))
+               .toList();
+    }
+}
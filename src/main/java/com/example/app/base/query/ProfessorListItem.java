@@ -0,0 +1,6 @@
+package com.example.app.base.query;
+
+import org.jspecify.annotations.Nullable;
+
+public record ProfessorListItem(Long id, String name, String email,
+                                @Nullable String phone, Double salary) {}
@@ -0,0 +1,44 @@
+package com.example.app.base.query;
+
+import com.example.app.base.repository.ProfessorRepository;
+import com.example.app.base.service.PersonSearchIndex;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Igual que StudentQueryService, para profesores.
+@Service
+@Transactional(readOnly = true)
+public class ProfessorQueryService {
+
+    private final ProfessorRepository repo;
+    private final PersonSearchIndex searchIndex;
+
+    public ProfessorQueryService(ProfessorRepository repo, PersonSearchIndex searchIndex) {
+        this.repo        = repo;
+        this.searchIndex = searchIndex;
+    }
+
+    /* Con término, la página sale del ranking del índice; sin término, de la consulta ordenada. */
+    public List<ProfessorListItem> list(String term, Pageable pageable) {
+        if (term == null || term.isBlank()) return repo.findItemsBy(pageable).toList();
+
+        List<Long> ids = searchIndex.search(PersonSearchIndex.Kind.PROFESSOR, term);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to   = Math.min(from + pageable.getPageSize(), ids.size());
+        return ranked(ids.subList(from, to));
+    }
+
+    private List<ProfessorListItem> ranked(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, ProfessorListItem> byId = repo.findItemsByIds(ids).stream()
+                .collect(Collectors.toMap(ProfessorListItem::id, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.app.base.query;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDate;
+
+public record SeatListItem(Long id, Long courseId, String courseName, Long studentId, String studentName,
+                           LocalDate year, @Nullable Double mark) {}
@@ -0,0 +1,60 @@
+package com.example.app.base.query;
+
+import com.example.app.base.repository.SeatRepository;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Transactional(readOnly = true)
+public class SeatQueryService {
+
+    /* Posición de una inscripción dentro del historial (año descendente, id descendente). */
+    public record HistoryKey(LocalDate year, Long id) {
+        public static HistoryKey of(SeatListItem seat) { return new HistoryKey(seat.year(), seat.id()); }
+    }
+
+    private static final Sort HISTORY_ORDER = Sort.by(Sort.Direction.DESC, "year", "id");
+
+    private final SeatRepository repo;
+
+    public SeatQueryService(SeatRepository repo) {
+        this.repo = repo;
+    }
+
+    public List<SeatListItem> byCourse(Long courseId) {
+        return repo.findItemsByCourseId(courseId);
+    }
+
+    public List<SeatListItem> byStudentUser(Long userId) {
+        return repo.findItemsByStudentUserId(userId);
+    }
+
+    /* Historial paginado; sin orden explícito de la grilla se ordena por año descendente. */
+    public List<SeatListItem> list(Pageable pageable) {
+        Pageable page = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                                 Sort.by(Sort.Direction.DESC, "year"));
+        return repo.findItemsBy(page).toList();
+    }
+
+    /* Mismo orden que historyAfter, por offset: para saltos largos de la grilla (ver KeysetFetchCallback). */
+    public List<SeatListItem> history(Pageable pageable) {
+        return repo.findItemsBy(PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), HISTORY_ORDER))
+                   .toList();
+    }
+
+    public List<SeatListItem> historyAfter(@Nullable HistoryKey after, int limit) {
+        return after == null
+               ? repo.findItemsFirst(Limit.of(limit))
+               : repo.findItemsAfter(after.year(), after.id(), Limit.of(limit));
+    }
+}
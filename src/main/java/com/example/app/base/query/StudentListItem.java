@@ -0,0 +1,8 @@
+package com.example.app.base.query;
+
+import org.jspecify.annotations.Nullable;
+
+import java.util.UUID;
+
+public record StudentListItem(Long id, String name, String email,
+                              @Nullable UUID studentNumber, @Nullable Double avgMark) {}
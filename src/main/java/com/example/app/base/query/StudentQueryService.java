@@ -0,0 +1,47 @@
+package com.example.app.base.query;
+
+import com.example.app.base.repository.StudentRepository;
+import com.example.app.base.service.PersonSearchIndex;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * readOnly: Spring deja la sesión de Hibernate en FlushMode.MANUAL y la conexión en sólo lectura, así que estas
+ * consultas nunca disparan un flush ni el dirty checking.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StudentQueryService {
+
+    private final StudentRepository repo;
+    private final PersonSearchIndex searchIndex;
+
+    public StudentQueryService(StudentRepository repo, PersonSearchIndex searchIndex) {
+        this.repo        = repo;
+        this.searchIndex = searchIndex;
+    }
+
+    /* Con término, la página sale del ranking del índice; sin término, de la consulta ordenada. */
+    public List<StudentListItem> list(String term, Pageable pageable) {
+        if (term == null || term.isBlank()) return repo.findItemsBy(pageable).toList();
+
+        List<Long> ids = searchIndex.search(PersonSearchIndex.Kind.STUDENT, term);
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to   = Math.min(from + pageable.getPageSize(), ids.size());
+        return ranked(ids.subList(from, to));
+    }
+
+    private List<StudentListItem> ranked(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, StudentListItem> byId = repo.findItemsByIds(ids).stream()
+                .collect(Collectors.toMap(StudentListItem::id, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+}
@@ -0,0 +1,12 @@
+/**
+ * Modelo de lectura de los listados: registros planos y servicios de consulta de sólo lectura.
+ * <p>
+ * Las grillas sólo muestran unas pocas columnas; acá se leen con proyecciones ({@code SELECT new ...}) en lugar de
+ * entidades administradas, así no hay proxies, ni domicilios EAGER, ni instantáneas para el dirty checking. Las
+ * ediciones siguen cargando la entidad por id desde los servicios de {@code base.service}.
+ * </p>
+ */
+@NullMarked
+package com.example.app.base.query;
+
+import org.jspecify.annotations.NullMarked;
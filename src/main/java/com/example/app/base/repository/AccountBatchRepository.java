@@ -0,0 +1,215 @@
+package com.example.app.base.repository;
+
+import com.example.app.base.domain.Person;
+import com.example.app.security.AppRoles;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.ByteBuffer;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.*;
+
+/**
+ * Altas masivas de cuentas (usuario, domicilio, persona y alumno o profesor) con {@code JdbcTemplate.batchUpdate}.
+ * <p>
+ * Cada tabla se inserta con un lote JDBC y los ids generados se leen del propio lote para enlazar la tabla
+ * siguiente, así un lote de N cuentas cuesta cuatro viajes a la base en lugar de 4×N. Los ids de {@code persons}
+ * salen del generador de {@link Person} ({@link PooledIdRepository}), el mismo que usa Hibernate; usuarios y
+ * domicilios siguen con AUTO_INCREMENT. Las contraseñas tienen que llegar ya hasheadas. Igual que {@link SeatBatchRepository}, participa de la transacción en curso.
+ * </p>
+ */
+@Repository
+public class AccountBatchRepository {
+
+    /** Cuenta a crear; el domicilio es opcional (todos sus campos o ninguno) y {@code salary} sólo aplica a profesores. */
+    public record NewAccount(String name, String email, String phone,
+                             String username, String password,
+                             String street, String city, String state, String country,
+                             Double salary) {
+
+        public boolean hasAddress() { return street != null; }
+
+        public NewAccount withPassword(String hash) {
+            return new NewAccount(name, email, phone, username, hash, street, city, state, country, salary);
+        }
+    }
+
+    /** Cuenta creada: id de la persona (que es también el del alumno o profesor). */
+    public record Created(Long id, NewAccount account, UUID studentNumber) {}
+
+    /** Usuarios y emails que ya existen, en minúsculas (la colación de MySQL no distingue mayúsculas). */
+    public record Taken(Set<String> usernames, Set<String> emails) {}
+
+    private static final String SELECT_TAKEN = """
+            SELECT 'u', LOWER(username) FROM users WHERE username IN (:usernames)
+            UNION ALL
+            SELECT 'e', LOWER(email) FROM persons WHERE email IN (:emails)
+            """;
+
+    private static final String INSERT_USER = """
+            INSERT INTO users (username, password, role)
+            VALUES (?, ?, ?)
+            """;
+
+    private static final String INSERT_ADDRESS = """
+            INSERT INTO addresses (street, city, state, country)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_PERSON = """
+            INSERT INTO persons (id, name, email, phone, address_id, user_id)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String INSERT_STUDENT = """
+            INSERT INTO students (id, student_number)
+            VALUES (?, ?)
+            """;
+
+    private static final String INSERT_PROFESSOR = """
+            INSERT INTO professors (id, salary)
+            VALUES (?, ?)
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+    private final PooledIdRepository pooledIds;
+    private final int batchSize;
+
+    public AccountBatchRepository(JdbcTemplate jdbc,
+                                  NamedParameterJdbcTemplate named,
+                                  PooledIdRepository pooledIds,
+                                  @Value("${app.import.batch-size:1000}") int batchSize) {
+        this.jdbc      = jdbc;
+        this.named     = named;
+        this.pooledIds = pooledIds;
+        this.batchSize = batchSize;
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    /* Una sola consulta para ambos conjuntos. */
+    public Taken findTaken(Collection<String> usernames, Collection<String> emails) {
+        Set<String> takenUsers = new HashSet<>(), takenEmails = new HashSet<>();
+        if (usernames.isEmpty() && emails.isEmpty()) return new Taken(takenUsers, takenEmails);
+
+        // IN () no es SQL válido: una lista vacía se reemplaza por un valor que no puede coincidir
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usernames", usernames.isEmpty() ? List.of("") : usernames)
+                .addValue("emails", emails.isEmpty() ? List.of("") : emails);
+        named.query(SELECT_TAKEN, params, rs -> {
+            (rs.getString(1).equals("u") ? takenUsers : takenEmails).add(rs.getString(2));
+        });
+        return new Taken(takenUsers, takenEmails);
+    }
+
+    @Transactional
+    public List<Created> insertStudents(List<NewAccount> accounts) {
+        List<Created> created = insertPeople(accounts, AppRoles.STUDENT, true);
+        jdbc.batchUpdate(INSERT_STUDENT, created, batchSize, (ps, c) -> {
+            ps.setLong(1, c.id());
+            ps.setBytes(2, toBytes(c.studentNumber()));
+        });
+        return created;
+    }
+
+    @Transactional
+    public List<Created> insertProfessors(List<NewAccount> accounts) {
+        List<Created> created = insertPeople(accounts, AppRoles.PROFESSOR, false);
+        jdbc.batchUpdate(INSERT_PROFESSOR, created, batchSize, (ps, c) -> {
+            ps.setLong(1, c.id());
+            ps.setObject(2, c.account().salary(), Types.DOUBLE);
+        });
+        return created;
+    }
+
+    private List<Created> insertPeople(List<NewAccount> accounts, AppRoles role, boolean students) {
+        if (accounts.isEmpty()) return List.of();
+
+        List<Long> userIds = insertReturningKeys(INSERT_USER, accounts, (ps, a) -> {
+            ps.setString(1, a.username());
+            ps.setString(2, a.password());
+            ps.setString(3, role.name());
+        });
+
+        List<NewAccount> withAddress = accounts.stream().filter(NewAccount::hasAddress).toList();
+        Iterator<Long> addressIds = insertReturningKeys(INSERT_ADDRESS, withAddress, (ps, a) -> {
+            ps.setString(1, a.street());
+            ps.setString(2, a.city());
+            ps.setString(3, a.state());
+            ps.setString(4, a.country());
+        }).iterator();
+
+        Long[] addressOf = new Long[accounts.size()];
+        for (int i = 0; i < accounts.size(); i++) {
+            if (accounts.get(i).hasAddress()) addressOf[i] = addressIds.next();
+        }
+
+        List<Integer> index = new ArrayList<>(accounts.size());
+        for (int i = 0; i < accounts.size(); i++) index.add(i);
+        List<Long> personIds = pooledIds.next(Person.class, accounts.size());
+        jdbc.batchUpdate(INSERT_PERSON, index, batchSize, (ps, i) -> {
+            NewAccount a = accounts.get(i);
+            ps.setLong(1, personIds.get(i));
+            ps.setString(2, a.name());
+            ps.setString(3, a.email());
+            ps.setString(4, a.phone());
+            ps.setObject(5, addressOf[i], Types.BIGINT);
+            ps.setLong(6, userIds.get(i));
+        });
+
+        List<Created> created = new ArrayList<>(accounts.size());
+        for (int i = 0; i < accounts.size(); i++) {
+            created.add(new Created(personIds.get(i), accounts.get(i), students ? UUID.randomUUID() : null));
+        }
+        return created;
+    }
+
+    /* Hibernate 6 guarda UUID en MySQL como BINARY(16), más significativos primero. */
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                         .putLong(uuid.getMostSignificantBits())
+                         .putLong(uuid.getLeastSignificantBits())
+                         .array();
+    }
+
+    private interface RowSetter<T> {
+        void set(PreparedStatement ps, T row) throws SQLException;
+    }
+
+    /* Lotes de batchSize filas; devuelve los ids generados en el mismo orden que las filas. */
+    private <T> List<Long> insertReturningKeys(String sql, List<T> rows, RowSetter<T> setter) {
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<T> chunk = rows.subList(from, Math.min(from + batchSize, rows.size()));
+            GeneratedKeyHolder keys = new GeneratedKeyHolder();
+            jdbc.batchUpdate(con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            setter.set(ps, chunk.get(i));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return chunk.size();
+                        }
+                    }, keys);
+            for (Map<String, Object> key : keys.getKeyList()) {
+                ids.add(((Number) key.values().iterator().next()).longValue());
+            }
+        }
+        return ids;
+    }
+}
@@ -1,10 +1,12 @@
 package com.example.app.base.repository;
 
 import com.example.app.base.domain.Administrator;
+import com.example.app.base.query.AdministratorListItem;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
 public interface AdministratorRepository extends JpaRepository<Administrator, Long> {
 
@@ -20,4 +22,19 @@ public interface AdministratorRepository extends JpaRepository<Administrator, Lo
            OR LOWER(a.name)     LIKE LOWER(CONCAT('%', :term, '%'))
     """)
     List<Administrator> searchWithUser(@Param("term") String term);
+
+    @Query("SELECT a FROM Administrator a LEFT JOIN FETCH a.user WHERE a.id = :id")
+    Optional<Administrator> findWithUserById(@Param("id") Long id);
+
+    /* Listado de sólo lectura (ver AdministratorQueryService); término vacío = todos. */
+    @Query("""
+        SELECT new com.example.app.base.query.AdministratorListItem(a.id, u.id, u.username, a.name, a.email)
+        FROM Administrator a
+        LEFT JOIN a.user u
+        WHERE :term = ''
+           OR LOWER(u.username) LIKE LOWER(CONCAT('%', :term, '%'))
+           OR LOWER(a.name)     LIKE LOWER(CONCAT('%', :term, '%'))
+        ORDER BY a.name
+    """)
+    List<AdministratorListItem> findItems(@Param("term") String term);
 }
@@ -0,0 +1,64 @@
+package com.example.app.base.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+
+/**
+ * Lectura columnar de las notas de un curso para {@code CourseAnalyticsService}.
+ * <p>
+ * Las filas se vuelcan directamente a arreglos primitivos desde el {@code ResultSet}, sin entidades ni {@code Double}
+ * por nota. Vienen ordenadas por nota descendente (las inscripciones sin nota al final), que es el orden del ranking.
+ * </p>
+ */
+@Repository
+public class CourseMarksRepository {
+
+    /** Columnas paralelas; sólo las primeras {@code size} posiciones son válidas y {@code graded <= size}. */
+    public record CourseMarks(int size, int graded, long[] studentIds, String[] studentNames, double[] marks) {}
+
+    private static final String SELECT = """
+            SELECT s.student_id, p.name, s.mark
+            FROM seats s
+            JOIN persons p ON p.id = s.student_id
+            WHERE s.course_id = ?
+            ORDER BY s.mark IS NULL, s.mark DESC, p.name
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public CourseMarksRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public CourseMarks findByCourseId(long courseId) {
+        Columns c = new Columns();
+        jdbc.query(SELECT, rs -> {
+            double mark = rs.getDouble(3);
+            if (rs.wasNull()) mark = Double.NaN;
+            c.add(rs.getLong(1), rs.getString(2), mark);
+        }, courseId);
+        return new CourseMarks(c.size, c.graded, c.studentIds, c.names, c.marks);
+    }
+
+    private static final class Columns {
+        int size, graded;
+        long[] studentIds = new long[64];
+        String[] names = new String[64];
+        double[] marks = new double[64];
+
+        void add(long studentId, String name, double mark) {
+            if (size == marks.length) {
+                studentIds = Arrays.copyOf(studentIds, size * 2);
+                names      = Arrays.copyOf(names, size * 2);
+                marks      = Arrays.copyOf(marks, size * 2);
+            }
+            studentIds[size] = studentId;
+            names[size]      = name;
+            marks[size]      = mark;
+            size++;
+            if (!Double.isNaN(mark)) graded++;
+        }
+    }
+}
@@ -1,15 +1,60 @@
 package com.example.app.base.repository;
 
 import com.example.app.base.domain.Course;
+import com.example.app.base.query.CourseListItem;
+import jakarta.persistence.QueryHint;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
 
+    /* Región de la caché de consultas para findAll (ver SecondLevelCacheConfig). */
+    String ALL_QUERY_REGION = "courses-all";
+
+    @Override
+    @EntityGraph(Course.WITH_PROFESSOR_GRAPH)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ALL_QUERY_REGION)
+    })
+    List<Course> findAll();
+
     List<Course> findByProfessorId(Long professorId);
 
     // 👉 Nuevo: búsqueda por nombre (case-insensitive)
+    @EntityGraph(Course.WITH_PROFESSOR_GRAPH)
     List<Course> findByNameContainingIgnoreCase(String name);
+
+    /* Listados de sólo lectura (ver CourseQueryService); la grilla ordena por "professor.name". */
+    @Query("""
+           SELECT new com.example.app.base.query.CourseListItem(c.id, c.name, p.id, p.name)
+           FROM Course c
+           LEFT JOIN c.professor p
+           """)
+    Slice<CourseListItem> findItemsBy(Pageable pageable);
+
+    @Query("""
+           SELECT new com.example.app.base.query.CourseListItem(c.id, c.name, p.id, p.name)
+           FROM Course c
+           LEFT JOIN c.professor p
+           WHERE LOWER(c.name) LIKE LOWER(CONCAT('%', :term, '%'))
+           """)
+    Slice<CourseListItem> findItemsByName(@Param("term") String term, Pageable pageable);
+
+    interface NameRow {
+        Long getId();
+        String getName();
+    }
+
+    @Query("SELECT c.id AS id, c.name AS name FROM Course c")
+    List<NameRow> findAllNames();
 }
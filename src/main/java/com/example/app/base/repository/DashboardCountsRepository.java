@@ -0,0 +1,46 @@
+package com.example.app.base.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+
+/**
+ * Totales del panel de administración en una sola ida a la base.
+ * <p>
+ * Cuenta directamente sobre {@code students}, {@code professors}, {@code courses} y {@code seats}, sin el join con
+ * {@code persons} que agrega Hibernate al contar subclases JOINED. Sólo lo usa la reconciliación periódica de
+ * {@code DashboardStatsService}.
+ * </p>
+ */
+@Repository
+public class DashboardCountsRepository {
+
+    public record Counts(long students, long professors, long courses,
+                         long seatsInYear, long graded, long pending) {}
+
+    private static final String SELECT = """
+            SELECT (SELECT COUNT(*) FROM students)   AS students,
+                   (SELECT COUNT(*) FROM professors) AS professors,
+                   (SELECT COUNT(*) FROM courses)    AS courses,
+                   COUNT(CASE WHEN s.exam_date >= ? AND s.exam_date < ? THEN 1 END) AS seats_in_year,
+                   COUNT(s.mark)                     AS graded,
+                   COUNT(*) - COUNT(s.mark)          AS pending
+            FROM seats s
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    public DashboardCountsRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Counts count(int year) {
+        LocalDate from = LocalDate.of(year, 1, 1);
+        return jdbc.queryForObject(SELECT, (rs, i) -> new Counts(
+                rs.getLong("students"), rs.getLong("professors"), rs.getLong("courses"),
+                rs.getLong("seats_in_year"), rs.getLong("graded"), rs.getLong("pending")),
+                Date.valueOf(from), Date.valueOf(from.plusYears(1)));
+    }
+}
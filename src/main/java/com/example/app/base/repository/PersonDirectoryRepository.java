@@ -0,0 +1,65 @@
+package com.example.app.base.repository;
+
+import com.example.app.base.domain.PersonDirectoryEntry;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PersonDirectoryRepository extends JpaRepository<PersonDirectoryEntry, Long> {
+
+    /* Lecturas sobre una sola tabla: ix_person_directory_type_name resuelve el filtro y el orden. */
+    List<PersonDirectoryEntry> findByTypeOrderByName(PersonDirectoryEntry.Type type);
+    List<PersonDirectoryEntry> findAllByOrderByName();
+    List<PersonDirectoryEntry> findByNameOrderByName(String name);
+
+    /*
+     * Escrituras: el directorio se arma siempre desde las tablas de origen, con un INSERT ... SELECT por lote de ids.
+     * flushAutomatically para que vea los cambios pendientes de la sesión; HINT_NATIVE_SPACES para que Hibernate no
+     * vacíe la caché de segundo nivel en cada escritura.
+     */
+    String SOURCE = """
+            SELECT p.id,
+                   CASE WHEN s.id IS NOT NULL THEN 'STUDENT'
+                        WHEN pr.id IS NOT NULL THEN 'PROFESSOR'
+                        ELSE 'ADMINISTRATOR' END,
+                   p.name, p.email, p.phone, a.city, u.username, s.student_number
+            FROM persons p
+            LEFT JOIN students s    ON s.id = p.id
+            LEFT JOIN professors pr ON pr.id = p.id
+            LEFT JOIN addresses a   ON a.id = p.address_id
+            LEFT JOIN users u       ON u.id = p.user_id
+            """;
+
+    String INSERT = """
+            INSERT INTO person_directory (id, type, name, email, phone, city, username, student_number)
+            """;
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "person_directory"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT + SOURCE + "WHERE p.id IN :ids", nativeQuery = true)
+    int insertFromSource(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "person_directory"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT + SOURCE, nativeQuery = true)
+    int insertAllFromSource();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "person_directory"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM person_directory WHERE id IN :ids", nativeQuery = true)
+    int deleteRows(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "person_directory"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = "DELETE FROM person_directory", nativeQuery = true)
+    int deleteAllRows();
+}
@@ -0,0 +1,70 @@
+package com.example.app.base.repository;
+
+import com.example.app.base.domain.Person;
+import com.example.app.base.domain.Seat;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ids de {@code seats} y {@code persons}. Salen de generadores pooled-lo en lugar de AUTO_INCREMENT, así Hibernate
+ * conoce el id antes del INSERT y puede agrupar las altas en lotes JDBC. MySQL no tiene secuencias: cada generador es
+ * una tabla de una fila ({@code seats_seq}, {@code persons_seq}) que se visita una vez cada
+ * {@value com.example.app.base.domain.BaseEntity#ID_ALLOCATION} ids.
+ * <p>
+ * {@link #next} entrega ids del mismo generador que usa Hibernate en {@code save()}, para las filas que
+ * {@link SeatBatchRepository} y {@link AccountBatchRepository} insertan por JDBC: cada bloque se reserva para uno solo
+ * de los dos, así que nunca se pisan. Al arrancar, {@link #seed()} adelanta cada tabla por encima del mayor id
+ * existente, que en una base anterior al cambio asignó AUTO_INCREMENT.
+ * </p>
+ */
+@Repository
+public class PooledIdRepository {
+
+    private record Generator(String table, String idsOf) {}
+
+    private static final List<Generator> GENERATORS = List.of(
+            new Generator(Seat.ID_SEQUENCE, "seats"),
+            new Generator(Person.ID_SEQUENCE, "persons"));
+
+    private final EntityManager em;
+    private final JdbcTemplate jdbc;
+
+    public PooledIdRepository(EntityManager em, JdbcTemplate jdbc) {
+        this.em   = em;
+        this.jdbc = jdbc;
+    }
+
+    /* Antes de que Hibernate reserve su primer bloque: nada inserta personas ni inscripciones durante el arranque. */
+    @PostConstruct
+    void seed() {
+        for (Generator g : GENERATORS) {
+            Long next = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) + 1 FROM " + g.idsOf(), Long.class);
+            jdbc.update("UPDATE " + g.table() + " SET next_val = ? WHERE next_val < ?", next, next);
+        }
+    }
+
+    /**
+     * {@code count} ids nuevos para {@code entity} ({@link Seat} o {@link Person}). Los bloques se reservan en una
+     * transacción aparte, como hace Hibernate, así que la tabla del generador no queda bloqueada durante el lote.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Long> next(Class<?> entity, int count) {
+        SharedSessionContractImplementor session = em.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator generator = (IdentifierGenerator) session.getFactory().getMappingMetamodel()
+                                                                     .getEntityDescriptor(entity).getGenerator();
+        List<Long> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add((Long) generator.generate(session, null));
+        }
+        return ids;
+    }
+}
@@ -1,23 +1,54 @@
 package com.example.app.base.repository;
 
 import com.example.app.base.domain.Professor;
+import com.example.app.base.query.ProfessorListItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ProfessorRepository extends JpaRepository<Professor, Long> {
 
+    /* Región de la caché de consultas para findAll (ver SecondLevelCacheConfig). */
+    String ALL_QUERY_REGION = "professors-all";
+
+    @Override
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = ALL_QUERY_REGION)
+    })
+    List<Professor> findAll();
+
     Optional<Professor> findByUserId(Long userId);
     List<Professor> findByNameContainingIgnoreCase(String name);
     List<Professor> findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(
         String name, String email
     );
 
+    /* Listados de sólo lectura (ver ProfessorQueryService). */
+    @Query("""
+           SELECT new com.example.app.base.query.ProfessorListItem(p.id, p.name, p.email, p.phone, p.salary)
+           FROM Professor p
+           """)
+    Slice<ProfessorListItem> findItemsBy(Pageable pageable);
+
+    @Query("""
+           SELECT new com.example.app.base.query.ProfessorListItem(p.id, p.name, p.email, p.phone, p.salary)
+           FROM Professor p
+           WHERE p.id IN :ids
+           """)
+    List<ProfessorListItem> findItemsByIds(@Param("ids") Collection<Long> ids);
+
     @Query("""
            SELECT p
            FROM Professor p
@@ -0,0 +1,76 @@
+package com.example.app.base.repository;
+
+import com.example.app.base.domain.Seat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Escrituras masivas de inscripciones (altas y notas) con {@code JdbcTemplate.batchUpdate}.
+ * <p>
+ * Las altas masivas van por JDBC, sin cargar entidades; con {@code rewriteBatchedStatements=true} en la URL de MySQL
+ * cada lote viaja como un único INSERT multi-fila. Los ids salen del generador de {@link Seat}
+ * ({@link PooledIdRepository}), el mismo que usa Hibernate. Participa de la transacción JPA en curso.
+ * </p>
+ */
+@Repository
+public class SeatBatchRepository {
+
+    public record NewSeat(Long studentId, Long courseId, LocalDate year) {}
+
+    public record MarkUpdate(Long seatId, Double mark, LocalDate evaluationDate) {}
+
+    private static final String INSERT = """
+            INSERT INTO seats (id, student_id, course_id, exam_date)
+            VALUES (?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_MARK = """
+            UPDATE seats SET mark = ?, evaluation_date = ?
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final PooledIdRepository pooledIds;
+    private final int batchSize;
+
+    public SeatBatchRepository(JdbcTemplate jdbc,
+                               PooledIdRepository pooledIds,
+                               @Value("${app.import.batch-size:1000}") int batchSize) {
+        this.jdbc      = jdbc;
+        this.pooledIds = pooledIds;
+        this.batchSize = batchSize;
+    }
+
+    public int batchSize() {
+        return batchSize;
+    }
+
+    public void insertAll(List<NewSeat> seats) {
+        if (seats.isEmpty()) return;
+        List<Long> seatIds = pooledIds.next(Seat.class, seats.size());
+        List<Integer> index = IntStream.range(0, seats.size()).boxed().toList();
+        jdbc.batchUpdate(INSERT, index, batchSize, (ps, i) -> {
+            NewSeat seat = seats.get(i);
+            ps.setLong(1, seatIds.get(i));
+            ps.setLong(2, seat.studentId());
+            ps.setLong(3, seat.courseId());
+            ps.setDate(4, Date.valueOf(seat.year()));
+        });
+    }
+
+    public void updateMarks(List<MarkUpdate> updates) {
+        if (updates.isEmpty()) return;
+        jdbc.batchUpdate(UPDATE_MARK, updates, batchSize, (ps, u) -> {
+            ps.setObject(1, u.mark(), Types.DOUBLE);
+            ps.setObject(2, u.evaluationDate() != null ? Date.valueOf(u.evaluationDate()) : null, Types.DATE);
+            ps.setLong(3, u.seatId());
+        });
+    }
+}
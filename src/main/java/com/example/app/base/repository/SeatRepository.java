@@ -1,22 +1,248 @@
 package com.example.app.base.repository;
 
 import com.example.app.base.domain.Seat;
+import com.example.app.base.query.SeatListItem;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 @Repository
 public interface SeatRepository extends JpaRepository<Seat, Long> {
 
+    // Las consultas que alimentan grillas o ediciones cargan con Seat.GRID_GRAPH: una sola consulta por página.
+    @Override
+    @EntityGraph(Seat.GRID_GRAPH)
+    Optional<Seat> findById(Long id);
+
+    @Override
+    @EntityGraph(Seat.GRID_GRAPH)
+    List<Seat> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(Seat.GRID_GRAPH)
     List<Seat> findByStudentUserId(Long userId);
+    @EntityGraph(Seat.GRID_GRAPH)
     List<Seat> findByStudentNameContainingIgnoreCase(String name);
+    @EntityGraph(Seat.GRID_GRAPH)
     List<Seat> findByStudentStudentNumber(UUID studentNumber);
+    @EntityGraph(Seat.GRID_GRAPH)
     List<Seat> findByCourseId(Long courseId);
+    @EntityGraph(Seat.GRID_GRAPH)
     List<Seat> findAllByOrderByYearDesc();
 
+    /* Listados de sólo lectura (ver SeatQueryService): filas planas en lugar de entidades. */
+    @Query("""
+           SELECT new com.example.app.base.query.SeatListItem(
+                  s.id, c.id, c.name, st.id, st.name, s.year, s.mark)
+           FROM Seat s
+           JOIN s.course c
+           JOIN s.student st
+           """)
+    Slice<SeatListItem> findItemsBy(Pageable pageable);
+
+    // Paginación por clave (exam_date, id): el costo no depende de cuán profundo se lea el historial.
+    @Query("""
+           SELECT new com.example.app.base.query.SeatListItem(
+                  s.id, c.id, c.name, st.id, st.name, s.year, s.mark)
+           FROM Seat s
+           JOIN s.course c
+           JOIN s.student st
+           ORDER BY s.year DESC, s.id DESC
+           """)
+    List<SeatListItem> findItemsFirst(Limit limit);
+
+    @Query("""
+           SELECT new com.example.app.base.query.SeatListItem(
+                  s.id, c.id, c.name, st.id, st.name, s.year, s.mark)
+           FROM Seat s
+           JOIN s.course c
+           JOIN s.student st
+           WHERE s.year < :year
+              OR (s.year = :year AND s.id < :id)
+           ORDER BY s.year DESC, s.id DESC
+           """)
+    List<SeatListItem> findItemsAfter(@Param("year") LocalDate year, @Param("id") Long id, Limit limit);
+
+    @Query("""
+           SELECT new com.example.app.base.query.SeatListItem(
+                  s.id, c.id, c.name, st.id, st.name, s.year, s.mark)
+           FROM Seat s
+           JOIN s.course c
+           JOIN s.student st
+           WHERE c.id = :courseId
+           ORDER BY st.name, s.id
+           """)
+    List<SeatListItem> findItemsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("""
+           SELECT new com.example.app.base.query.SeatListItem(
+                  s.id, c.id, c.name, st.id, st.name, s.year, s.mark)
+           FROM Seat s
+           JOIN s.course c
+           JOIN s.student st
+           WHERE st.user.id = :userId
+           ORDER BY s.year DESC, c.name
+           """)
+    List<SeatListItem> findItemsByStudentUserId(@Param("userId") Long userId);
+
     long countByCourseId(Long courseId);
 
     boolean existsByCourseIdAndStudentId(Long courseId, Long studentId);
+
+    /* Alumno y nota persistidos de una inscripción, antes de modificarla. */
+    interface MarkSnapshot {
+        Long getStudentId();
+        Long getCourseId();
+        LocalDate getYear();
+        Double getMark();
+    }
+
+    @Query("""
+           SELECT s.student.id AS studentId, s.course.id AS courseId, s.year AS year, s.mark AS mark
+           FROM Seat s
+           WHERE s.id = :id
+           """)
+    Optional<MarkSnapshot> findMarkSnapshot(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT s.student.id FROM Seat s WHERE s.course.id = :courseId")
+    List<Long> findStudentIdsByCourseId(@Param("courseId") Long courseId);
+
+    @Query("""
+           SELECT s.student.id
+           FROM Seat s
+           WHERE s.course.id = :courseId AND s.student.id IN :studentIds
+           """)
+    List<Long> findEnrolledStudentIds(@Param("courseId") Long courseId,
+                                      @Param("studentIds") Collection<Long> studentIds);
+
+    interface EnrollmentKey {
+        Long getCourseId();
+        Long getStudentId();
+    }
+
+    @Query("""
+           SELECT s.course.id AS courseId, s.student.id AS studentId
+           FROM Seat s
+           WHERE s.course.id IN :courseIds AND s.student.id IN :studentIds
+           """)
+    List<EnrollmentKey> findEnrollments(@Param("courseIds") Collection<Long> courseIds,
+                                        @Param("studentIds") Collection<Long> studentIds);
+
+    /* Fila plana para exportar: sin entidades, el contexto de persistencia no crece con el volumen. */
+    interface ExportRow {
+        Long getId();
+        String getCourseName();
+        String getStudentName();
+        UUID getStudentNumber();
+        LocalDate getYear();
+        Double getMark();
+        LocalDate getEvaluationDate();
+    }
+
+    // Integer.MIN_VALUE hace que Connector/J entregue las filas de a una en vez de bufferizar todo el resultado.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+           SELECT s.id AS id, c.name AS courseName, st.name AS studentName,
+                  st.studentNumber AS studentNumber, s.year AS year,
+                  s.mark AS mark, s.evaluationDate AS evaluationDate
+           FROM Seat s
+           JOIN s.course c
+           JOIN s.student st
+           WHERE (:courseId  IS NULL OR c.id = :courseId)
+             AND (:studentId IS NULL OR st.id = :studentId)
+             AND (:from      IS NULL OR s.year >= :from)
+             AND (:to        IS NULL OR s.year <  :to)
+           ORDER BY s.id
+           """)
+    Stream<ExportRow> streamForExport(@Param("courseId") Long courseId,
+                                      @Param("studentId") Long studentId,
+                                      @Param("from") LocalDate from,
+                                      @Param("to") LocalDate to);
+
+    interface TranscriptRow {
+        Long getStudentId();
+        String getStudentName();
+        UUID getStudentNumber();
+        String getCourseName();
+        LocalDate getYear();
+        Double getMark();
+        LocalDate getEvaluationDate();
+    }
+
+    @Query("""
+           SELECT DISTINCT s.student.id
+           FROM Seat s
+           WHERE s.year >= :from AND s.year < :to
+           ORDER BY s.student.id
+           """)
+    List<Long> findStudentIdsByYearBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("""
+           SELECT st.id AS studentId, st.name AS studentName, st.studentNumber AS studentNumber,
+                  c.name AS courseName, s.year AS year, s.mark AS mark, s.evaluationDate AS evaluationDate
+           FROM Seat s
+           JOIN s.student st
+           JOIN s.course c
+           WHERE st.id IN :studentIds
+           ORDER BY st.id, s.year, c.name
+           """)
+    List<TranscriptRow> findTranscriptRows(@Param("studentIds") Collection<Long> studentIds);
+
+    @Query("SELECT COUNT(s.mark) FROM Seat s WHERE s.id IN :seatIds")
+    long countGradedByIds(@Param("seatIds") Collection<Long> seatIds);
+
+    @Query("SELECT DISTINCT s.course.id FROM Seat s WHERE s.id IN :seatIds")
+    List<Long> findCourseIdsBySeatIds(@Param("seatIds") Collection<Long> seatIds);
+
+    @Query("SELECT DISTINCT s.student.id FROM Seat s WHERE s.id IN :seatIds")
+    List<Long> findStudentIdsBySeatIds(@Param("seatIds") Collection<Long> seatIds);
+
+    @Query("SELECT DISTINCT s.student.id FROM Seat s WHERE s.course.professor.id = :professorId")
+    List<Long> findStudentIdsByProfessorId(@Param("professorId") Long professorId);
+
+    /* Cursos con inscripciones de la persona, como alumno o como profesor del curso. */
+    @Query("""
+           SELECT DISTINCT s.course.id
+           FROM Seat s
+           WHERE s.student.id = :personId
+              OR s.course.professor.id = :personId
+           """)
+    List<Long> findCourseIdsByPersonId(@Param("personId") Long personId);
+
+    /* Estadísticas agregadas por curso, sin cargar las entidades Seat. */
+    interface CourseStatsRow {
+        Long getCourseId();
+        long getEnrolled();
+        Double getAvgMark();
+        long getGraded();
+    }
+
+    @Query("""
+           SELECT s.course.id               AS courseId,
+                  COUNT(s)                  AS enrolled,
+                  AVG(COALESCE(s.mark, 0.0)) AS avgMark,
+                  COUNT(s.mark)             AS graded
+           FROM Seat s
+           WHERE s.course.id IN :courseIds
+           GROUP BY s.course.id
+           """)
+    List<CourseStatsRow> findStatsByCourseIds(@Param("courseIds") Collection<Long> courseIds);
 }
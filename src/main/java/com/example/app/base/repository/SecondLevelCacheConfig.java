@@ -0,0 +1,109 @@
+package com.example.app.base.repository;
+
+import com.example.app.base.domain.Address;
+import com.example.app.base.domain.Course;
+import com.example.app.base.domain.Person;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caché de segundo nivel de Hibernate sobre JCache/Caffeine: cursos, profesores y domicilios, que se leen en cada
+ * combo y grilla y casi no cambian, más los {@code findAll} de {@link CourseRepository} y {@link ProfessorRepository}.
+ * <p>
+ * Las regiones se crean acá, cada una con {@code app.second-level-cache.<región>.maximum-size} y
+ * {@code .expire-after-write}; Hibernate falla al arrancar si una entidad pide una región que no existe. Aciertos y
+ * fallos se publican como {@code cache.gets} con {@code cache=<región>}, y la proporción como {@code cache.hit.ratio}.
+ * La región de timestamps no vence ni desaloja: con ella Hibernate decide si un resultado cacheado sigue vigente.
+ * </p>
+ */
+@Configuration
+class SecondLevelCacheConfig {
+
+    private record Region(String name, long maximumSize, Duration expireAfterWrite) {}
+
+    private static final List<Region> REGIONS = List.of(
+            new Region(Course.CACHE_REGION,                   1_000, Duration.ofHours(1)),
+            new Region(Person.CACHE_REGION,                   1_000, Duration.ofHours(1)),
+            new Region(Address.CACHE_REGION,                 10_000, Duration.ofHours(1)),
+            new Region(CourseRepository.ALL_QUERY_REGION,        10, Duration.ofMinutes(10)),
+            new Region(ProfessorRepository.ALL_QUERY_REGION,     10, Duration.ofMinutes(10)),
+            new Region(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, 100, Duration.ofMinutes(10)));
+
+    /*
+     * Un CacheManager propio por contexto (URI única): el de por defecto del proveedor es compartido por la JVM y
+     * dos contextos de test, o un reinicio de devtools, chocarían al crear las mismas regiones.
+     */
+    @Bean(destroyMethod = "close")
+    CacheManager secondLevelCacheManager(Environment env, MeterRegistry registry) {
+        CacheManager manager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("urn:second-level-cache:" + UUID.randomUUID()),
+                                 getClass().getClassLoader());
+        Binder binder = Binder.get(env);
+
+        for (Region region : REGIONS) {
+            String prefix = "app.second-level-cache." + region.name();
+            CaffeineConfiguration<Object, Object> config = baseConfig();
+            config.setMaximumSize(OptionalLong.of(
+                    binder.bind(prefix + ".maximum-size", Long.class).orElse(region.maximumSize())));
+            config.setExpireAfterWrite(OptionalLong.of(
+                    binder.bind(prefix + ".expire-after-write", Duration.class)
+                          .orElse(region.expireAfterWrite()).toNanos()));
+            monitor(registry, manager.createCache(region.name(), config));
+        }
+        monitor(registry, manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                                              baseConfig()));
+        return manager;
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return props -> props.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+    }
+
+    /* Por referencia: copiar cada entrada en cada lectura anularía buena parte de la ganancia. */
+    private static CaffeineConfiguration<Object, Object> baseConfig() {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setStoreByValue(false);
+        config.setStatisticsEnabled(true);
+        return config;
+    }
+
+    private static void monitor(MeterRegistry registry, Cache<Object, Object> cache) {
+        String name = cache.getName();
+        JCacheMetrics.monitor(registry, cache);
+        Gauge.builder("cache.hit.ratio", registry, r -> hitRatio(r, name))
+             .tag("cache", name)
+             .description("Proporción de lecturas de la región resueltas desde la caché")
+             .register(registry);
+    }
+
+    private static double hitRatio(MeterRegistry registry, String cache) {
+        double hits = count(registry, cache, "hit"), misses = count(registry, cache, "miss");
+        return hits + misses == 0 ? 0 : hits / (hits + misses);
+    }
+
+    private static double count(MeterRegistry registry, String cache, String result) {
+        FunctionCounter counter = registry.find("cache.gets").tags("cache", cache, "result", result).functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -1,12 +1,21 @@
 package com.example.app.base.repository;
 
 import com.example.app.base.domain.Student;
+import com.example.app.base.query.StudentListItem;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
@@ -17,6 +26,34 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
         String name, String email
     );
 
+    /* Listados de sólo lectura (ver StudentQueryService). */
+    @Query("""
+           SELECT new com.example.app.base.query.StudentListItem(s.id, s.name, s.email, s.studentNumber, s.avgMark)
+           FROM Student s
+           """)
+    Slice<StudentListItem> findItemsBy(Pageable pageable);
+
+    @Query("""
+           SELECT new com.example.app.base.query.StudentListItem(s.id, s.name, s.email, s.studentNumber, s.avgMark)
+           FROM Student s
+           WHERE s.id IN :ids
+           """)
+    List<StudentListItem> findItemsByIds(@Param("ids") Collection<Long> ids);
+
+    /* Alumnos sin inscripción en el curso: anti-join resuelto por la base, paginado y filtrable. */
+    @Query("""
+           SELECT s
+           FROM Student s
+           WHERE NOT EXISTS (SELECT 1 FROM Seat se
+                             WHERE se.student = s AND se.course.id = :courseId)
+             AND (:term = ''
+                  OR LOWER(s.name) LIKE LOWER(CONCAT('%', :term, '%'))
+                  OR CAST(s.id AS String) LIKE CONCAT('%', :term, '%'))
+           """)
+    Slice<Student> findNotEnrolledIn(@Param("courseId") Long courseId,
+                                     @Param("term") String term,
+                                     Pageable pageable);
+
     @Query("""
            SELECT s
            FROM Student s
@@ -24,4 +61,72 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
            WHERE s.id = :id
            """)
     Optional<Student> findWithUserById(@Param("id") Long id);
+
+    interface NumberRow {
+        UUID getStudentNumber();
+        Long getId();
+    }
+
+    @Query("SELECT s.studentNumber AS studentNumber, s.id AS id FROM Student s WHERE s.studentNumber IN :numbers")
+    List<NumberRow> findIdsByStudentNumbers(@Param("numbers") Collection<UUID> numbers);
+
+    /* Alumnos con inscripciones pero sin contadores: filas anteriores a mark_sum/seat_count. */
+    @Query(value = """
+           SELECT s.id
+           FROM students s
+           WHERE s.seat_count IS NULL
+             AND EXISTS (SELECT 1 FROM seats se WHERE se.student_id = s.id)
+           """, nativeQuery = true)
+    List<Long> findIdsMissingMarkCounters();
+
+    @Query("SELECT s.avgMark FROM Student s WHERE s.id = :id")
+    Optional<Double> findAvgMarkById(@Param("id") Long id);
+
+    /*
+     * Promedio mantenido: suma de notas (sin nota cuenta 0) y cantidad de inscripciones por alumno.
+     * Se usa SQL nativo sobre la tabla students para no disparar el UPDATE multi-tabla de la herencia JOINED.
+     * HINT_NATIVE_SPACES declara la tabla tocada: sin él Hibernate vacía toda la caché de segundo nivel en cada
+     * UPDATE nativo.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students"))
+    @Modifying
+    @Query(value = """
+           UPDATE students
+           SET mark_sum   = COALESCE(mark_sum, 0) + :sumDelta,
+               seat_count = COALESCE(seat_count, 0) + :countDelta
+           WHERE id = :id
+           """, nativeQuery = true)
+    void addToMarks(@Param("id") Long id,
+                    @Param("sumDelta") double sumDelta,
+                    @Param("countDelta") int countDelta);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students"))
+    @Modifying
+    @Query(value = """
+           UPDATE students
+           SET avg_mark = CASE WHEN seat_count > 0 THEN mark_sum / seat_count END
+           WHERE id = :id
+           """, nativeQuery = true)
+    void refreshAvgMark(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+           UPDATE students
+           SET mark_sum   = (SELECT COALESCE(SUM(COALESCE(se.mark, 0)), 0) FROM seats se WHERE se.student_id = students.id),
+               seat_count = (SELECT COUNT(*) FROM seats se WHERE se.student_id = students.id),
+               avg_mark   = (SELECT AVG(COALESCE(se.mark, 0)) FROM seats se WHERE se.student_id = students.id)
+           WHERE id IN :ids
+           """, nativeQuery = true)
+    void recomputeMarks(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "students"))
+    @Modifying(flushAutomatically = true)
+    @Query(value = """
+           UPDATE students
+           SET mark_sum   = (SELECT COALESCE(SUM(COALESCE(se.mark, 0)), 0) FROM seats se WHERE se.student_id = students.id),
+               seat_count = (SELECT COUNT(*) FROM seats se WHERE se.student_id = students.id),
+               avg_mark   = (SELECT AVG(COALESCE(se.mark, 0)) FROM seats se WHERE se.student_id = students.id)
+           """, nativeQuery = true)
+    int recomputeAllMarks();
 }
@@ -1,9 +1,30 @@
 package com.example.app.base.repository;
 
 import com.example.app.base.domain.User;
+import com.example.app.security.AppRoles;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
+
+    /* Credenciales y rol sin cargar la entidad ni su Person. */
+    interface CredentialsRow {
+        Long getId();
+        String getUsername();
+        String getPassword();
+        AppRoles getRole();
+        Long getPersonId();
+    }
+
+    @Query("""
+           SELECT u.id AS id, u.username AS username, u.password AS password,
+                  u.role AS role, p.id AS personId
+           FROM User u
+           LEFT JOIN u.person p
+           WHERE u.username = :username
+           """)
+    Optional<CredentialsRow> findCredentialsByUsername(@Param("username") String username);
 }
\ No newline at end of file
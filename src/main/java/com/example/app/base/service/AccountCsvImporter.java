@@ -0,0 +1,123 @@
+package com.example.app.base.service;
+
+import com.example.app.base.repository.AccountBatchRepository;
+import com.example.app.base.repository.AccountBatchRepository.NewAccount;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Importa alumnos o profesores desde un CSV
+ * {@code nombre,email,telefono,usuario,contraseña,calle,ciudad,provincia,pais[,sueldo]} ({@code ,} o {@code ;} como
+ * separador, campos entre comillas si contienen el separador, encabezado opcional; ver {@link CsvReader}). El domicilio va completo o vacío; el sueldo sólo se lee para profesores y es
+ * obligatorio. Sin contraseña, la inicial es el nombre de usuario.
+ * <p>
+ * Como {@link EnrollmentCsvImporter}: lectura en streaming, lotes de {@code app.import.batch-size} filas, cada uno
+ * confirmado por separado con {@link StudentService#provisionAll} o {@link ProfessorService#provisionAll}, y avance
+ * informado al terminar cada lote.
+ * </p>
+ */
+@Service
+public class AccountCsvImporter {
+
+    public enum Kind { STUDENT, PROFESSOR }
+
+    public record Result(int read, int created, int duplicates, int invalid) {
+
+        static final Result EMPTY = new Result(0, 0, 0, 0);
+
+        Result plus(Result o) {
+            return new Result(read + o.read, created + o.created, duplicates + o.duplicates, invalid + o.invalid);
+        }
+    }
+
+    private static final int USERNAME_MAX = 50;
+
+    private final StudentService studentService;
+    private final ProfessorService professorService;
+    private final AccountBatchRepository batchRepo;
+
+    public AccountCsvImporter(StudentService studentService,
+                              ProfessorService professorService,
+                              AccountBatchRepository batchRepo) {
+        this.studentService   = studentService;
+        this.professorService = professorService;
+        this.batchRepo        = batchRepo;
+    }
+
+    public Result importCsv(Kind kind, InputStream in, Consumer<Result> progress) throws IOException {
+        Result total = Result.EMPTY;
+        List<NewAccount> chunk = new ArrayList<>(batchRepo.batchSize());
+        int invalid = 0;
+
+        try (CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<String> fields;
+            boolean first = true;
+            while ((fields = reader.next()) != null) {
+                NewAccount account = parse(kind, fields);
+                if (account == null) {
+                    if (!first) invalid++;
+                } else {
+                    chunk.add(account);
+                }
+                first = false;
+
+                if (chunk.size() == batchRepo.batchSize()) {
+                    total = total.plus(process(kind, chunk, invalid));
+                    chunk.clear();
+                    invalid = 0;
+                    progress.accept(total);
+                }
+            }
+        }
+        total = total.plus(process(kind, chunk, invalid));
+        progress.accept(total);
+        return total;
+    }
+
+    private Result process(Kind kind, List<NewAccount> accounts, int invalid) {
+        if (accounts.isEmpty()) return new Result(invalid, 0, 0, invalid);
+
+        int created = kind == Kind.STUDENT ? studentService.provisionAll(accounts)
+                                           : professorService.provisionAll(accounts);
+        return new Result(accounts.size() + invalid, created, accounts.size() - created, invalid);
+    }
+
+    /* null si la fila no es válida (o es el encabezado, que no tiene un email en la segunda columna). */
+    private static NewAccount parse(Kind kind, List<String> fields) {
+        if (fields.size() < (kind == Kind.PROFESSOR ? 10 : 9)) return null;
+        String[] f = fields.stream().map(String::trim).toArray(String[]::new);
+
+        String name = f[0], email = f[1], username = f[3];
+        if (name.isEmpty() || !email.contains("@") || username.isEmpty() || username.length() > USERNAME_MAX) {
+            return null;
+        }
+
+        boolean anyAddress = !(f[5].isEmpty() && f[6].isEmpty() && f[7].isEmpty() && f[8].isEmpty());
+        boolean fullAddress = !(f[5].isEmpty() || f[6].isEmpty() || f[7].isEmpty() || f[8].isEmpty());
+        if (anyAddress && !fullAddress) return null;
+
+        Double salary = null;
+        if (kind == Kind.PROFESSOR) {
+            try {
+                salary = Double.valueOf(f[9]);
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+
+        return new NewAccount(name, email, emptyToNull(f[2]), username, f[4],
+                              emptyToNull(f[5]), emptyToNull(f[6]), emptyToNull(f[7]), emptyToNull(f[8]),
+                              salary);
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+}
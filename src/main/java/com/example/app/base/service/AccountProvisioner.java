@@ -0,0 +1,62 @@
+package com.example.app.base.service;
+
+import com.example.app.base.repository.AccountBatchRepository;
+import com.example.app.base.repository.AccountBatchRepository.NewAccount;
+import com.example.app.security.PasswordHashingService;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Preparación común de las altas masivas de {@link StudentService} y {@link ProfessorService}.
+ * <p>
+ * Descarta las cuentas cuyo usuario o email se repite dentro del lote o ya existe (una consulta para todo el lote) y
+ * hashea las contraseñas restantes en paralelo con {@link PasswordHashingService#encodeAll}. Corre fuera de la
+ * transacción: el hash es lo más lento del alta y no tiene sentido retener una conexión mientras tanto.
+ * </p>
+ */
+@Component
+public class AccountProvisioner {
+
+    /** Cuentas listas para insertar (contraseña ya hasheada) y cuántas se descartaron por repetidas. */
+    public record Prepared(List<NewAccount> accounts, int duplicates) {}
+
+    private final AccountBatchRepository batchRepo;
+    private final PasswordHashingService hashing;
+
+    public AccountProvisioner(AccountBatchRepository batchRepo, PasswordHashingService hashing) {
+        this.batchRepo = batchRepo;
+        this.hashing   = hashing;
+    }
+
+    public Prepared prepare(List<NewAccount> accounts) {
+        Set<String> usernames = new HashSet<>(), emails = new HashSet<>();
+        List<NewAccount> unique = new ArrayList<>(accounts.size());
+        for (NewAccount a : accounts) {
+            String u = key(a.username()), e = key(a.email());
+            if (usernames.contains(u) || emails.contains(e)) continue;
+            usernames.add(u);
+            emails.add(e);
+            unique.add(a);
+        }
+
+        AccountBatchRepository.Taken taken = batchRepo.findTaken(usernames, emails);
+        List<NewAccount> fresh = unique.stream()
+                .filter(a -> !taken.usernames().contains(key(a.username()))
+                          && !taken.emails().contains(key(a.email())))
+                .toList();
+
+        // Sin contraseña se usa el nombre de usuario, como en el alta manual de administradores
+        List<String> hashes = hashing.encodeAllBlocking(fresh.stream()
+                .map(a -> a.password() == null || a.password().isBlank() ? a.username() : a.password())
+                .toList());
+        List<NewAccount> hashed = new ArrayList<>(fresh.size());
+        for (int i = 0; i < fresh.size(); i++) hashed.add(fresh.get(i).withPassword(hashes.get(i)));
+
+        return new Prepared(hashed, accounts.size() - hashed.size());
+    }
+
+    private static String key(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
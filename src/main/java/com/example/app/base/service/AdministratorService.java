@@ -1,8 +1,11 @@
 package com.example.app.base.service;
 
 import com.example.app.base.domain.Administrator;
+import com.example.app.base.domain.User;
 import com.example.app.base.repository.AdministratorRepository;
+import com.example.app.security.UserCache;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,21 +13,40 @@ import java.util.Optional;
 public class AdministratorService {
 
     private final AdministratorRepository repo;
+    private final PersonDirectory personDirectory;
+    private final UserCache userCache;
 
-    public AdministratorService(AdministratorRepository repo) {
-        this.repo = repo;
+    public AdministratorService(AdministratorRepository repo, PersonDirectory personDirectory, UserCache userCache) {
+        this.repo            = repo;
+        this.personDirectory = personDirectory;
+        this.userCache       = userCache;
     }
 
     public List<Administrator> findAll()          { return repo.findAllWithUser(); }
     public Optional<Administrator> findById(Long id) { return repo.findById(id); }
+    public Optional<Administrator> findWithUserById(Long id) { return repo.findWithUserById(id); }
     public Optional<Administrator> findByUserId(Long id){
         return repo.findAllWithUser()
                    .stream()
                    .filter(a -> a.getUser()!=null && a.getUser().getId().equals(id))
                    .findFirst();
     }
-    public Administrator save(Administrator a)    { return repo.save(a); }
-    public void deleteById(Long id)               { repo.deleteById(id); }
+
+    @Transactional
+    public Administrator save(Administrator a) {
+        Administrator saved = repo.save(a);
+        personDirectory.refresh(saved.getId());
+        return saved;
+    }
+
+    /* El usuario se borra en cascada: se lo saca de la caché de login al confirmar. */
+    @Transactional
+    public void deleteById(Long id) {
+        Long userId = repo.findById(id).map(Administrator::getUser).map(User::getId).orElse(null);
+        repo.deleteById(id);
+        userCache.invalidateByIdAfterCommit(userId);
+        personDirectory.remove(id);
+    }
 
     public List<Administrator> search(String term){
         return term == null || term.isBlank()
@@ -0,0 +1,147 @@
+package com.example.app.base.service;
+
+import com.example.app.base.repository.CourseMarksRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Distribución de notas de un curso: histograma, mediana, p90, tasa de aprobación, desvío estándar y ranking.
+ * <p>
+ * A diferencia del promedio de {@link CourseStatsService}, acá sólo cuentan las inscripciones calificadas; las
+ * pendientes se informan aparte. Las notas llegan como {@code double[]} ordenado de mayor a menor desde
+ * {@link CourseMarksRepository} y todo se calcula en una pasada sobre ese arreglo. El resultado queda en caché por
+ * curso y {@link SeatService} lo invalida cuando confirma cambios en las inscripciones.
+ * </p>
+ */
+@Service
+public class CourseAnalyticsService {
+
+    public static final int BUCKETS = 10;
+    public static final double MAX_MARK = 10.0;
+
+    public record Ranked(int rank, long studentId, String studentName, double mark) {}
+
+    /** Estadísticas de las notas cargadas; los valores son {@code NaN} si el curso no tiene ninguna. */
+    public record CourseAnalytics(int enrolled, int graded,
+                                  double mean, double median, double p90, double stdDev,
+                                  double min, double max, double passRate,
+                                  int[] histogram, List<Ranked> ranking) {
+
+        public int pending() { return enrolled - graded; }
+    }
+
+    private final CourseMarksRepository marksRepo;
+    private final double passMark;
+    private final Cache<Long, CourseAnalytics> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public CourseAnalyticsService(CourseMarksRepository marksRepo,
+                                  MeterRegistry registry,
+                                  @Value("${app.analytics.pass-mark:4}") double passMark,
+                                  @Value("${app.analytics.cache-size:1000}") long cacheSize) {
+        this.marksRepo = marksRepo;
+        this.passMark  = passMark;
+        this.cache     = Caffeine.newBuilder()
+                                 .maximumSize(cacheSize)
+                                 .recordStats()
+                                 .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "course-analytics");
+    }
+
+    public double passMark() {
+        return passMark;
+    }
+
+    /* Igual que UserCache: se calcula fuera de Cache.get(key, loader) para no fijar hilos virtuales. */
+    public CourseAnalytics analyticsFor(Long courseId) {
+        CourseAnalytics cached = cache.getIfPresent(courseId);
+        if (cached != null) return cached;
+
+        long gen = generation.get();
+        CourseAnalytics fresh = compute(courseId);
+        if (generation.get() == gen) cache.put(courseId, fresh);
+        return fresh;
+    }
+
+    /*
+     * Dentro de una transacción se invalida recién al confirmar: si se hiciera antes, una lectura concurrente
+     * podría volver a cachear los datos viejos antes del commit.
+     */
+    public void invalidate(Collection<Long> courseIds) {
+        if (courseIds.isEmpty()) return;
+        Set<Long> ids = Set.copyOf(courseIds);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation.incrementAndGet();
+                    cache.invalidateAll(ids);
+                }
+            });
+        } else {
+            generation.incrementAndGet();
+            cache.invalidateAll(ids);
+        }
+    }
+
+    private CourseAnalytics compute(Long courseId) {
+        CourseMarksRepository.CourseMarks data = marksRepo.findByCourseId(courseId);
+        double[] marks = data.marks();
+        int n = data.graded();
+
+        int[] histogram = new int[BUCKETS];
+        List<Ranked> ranking = new ArrayList<>(n);
+        if (n == 0) {
+            return new CourseAnalytics(data.size(), 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                                       Double.NaN, Double.NaN, Double.NaN, histogram, ranking);
+        }
+
+        // Welford: media y varianza estables en una sola pasada
+        double mean = 0, m2 = 0;
+        int passed = 0, rank = 0;
+        for (int i = 0; i < n; i++) {
+            double m = marks[i];
+            double delta = m - mean;
+            mean += delta / (i + 1);
+            m2 += delta * (m - mean);
+
+            if (m >= passMark) passed++;
+            int bucket = (int) (m * BUCKETS / MAX_MARK);
+            histogram[Math.max(0, Math.min(bucket, BUCKETS - 1))]++;
+
+            if (i == 0 || m != marks[i - 1]) rank = i + 1;
+            ranking.add(new Ranked(rank, data.studentIds()[i], data.studentNames()[i], m));
+        }
+
+        return new CourseAnalytics(data.size(), n,
+                                   mean,
+                                   percentile(marks, n, 0.5),
+                                   percentile(marks, n, 0.9),
+                                   Math.sqrt(m2 / n),
+                                   marks[n - 1], marks[0],
+                                   (double) passed / n,
+                                   histogram, List.copyOf(ranking));
+    }
+
+    /* Interpolación lineal sobre el arreglo ordenado de mayor a menor. */
+    private static double percentile(double[] desc, int n, double p) {
+        double pos = p * (n - 1);
+        int lo = (int) Math.floor(pos);
+        int hi = (int) Math.ceil(pos);
+        double a = desc[n - 1 - lo];
+        double b = desc[n - 1 - hi];
+        return a + (b - a) * (pos - lo);
+    }
+}
@@ -2,7 +2,10 @@ package com.example.app.base.service;
 
 import com.example.app.base.domain.Course;
 import com.example.app.base.repository.CourseRepository;
+import com.example.app.base.repository.SeatRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -10,15 +13,43 @@ import java.util.Optional;
 public class CourseService {
 
     private final CourseRepository repo;
+    private final SeatRepository seatRepo;
+    private final StudentMarkService studentMarks;
+    private final ApplicationEventPublisher events;
+    private final SeatService seatService;
 
-    public CourseService(CourseRepository repo) {
-        this.repo = repo;
+    public CourseService(CourseRepository repo,
+                         SeatRepository seatRepo,
+                         StudentMarkService studentMarks,
+                         ApplicationEventPublisher events,
+                         SeatService seatService) {
+        this.repo         = repo;
+        this.seatRepo     = seatRepo;
+        this.studentMarks = studentMarks;
+        this.events       = events;
+        this.seatService  = seatService;
     }
 
     public List<Course> findAll()                 { return repo.findAll(); }
     public Optional<Course> findById(Long id)     { return repo.findById(id); }
-    public void deleteById(Long id)               { repo.deleteById(id); }
-    public Course save(Course course)             { return repo.save(course); }
+
+    /* Las inscripciones se borran en cascada: se recalcula el promedio de sus alumnos y se avisa a SeatService. */
+    @Transactional
+    public void deleteById(Long id) {
+        List<Long> studentIds = seatRepo.findStudentIdsByCourseId(id);
+        repo.deleteById(id);
+        studentMarks.recompute(studentIds);
+        seatService.cascadeRemoved(List.of(id));
+        events.publishEvent(DashboardStatsService.Delta.RECOUNT);
+    }
+
+    @Transactional
+    public Course save(Course course) {
+        boolean isNew = course.getId() == null;
+        Course saved = repo.save(course);
+        if (isNew) events.publishEvent(DashboardStatsService.Delta.courses(1));
+        return saved;
+    }
 
     public List<Course> findByProfessorId(Long id){ return repo.findByProfessorId(id); }
 
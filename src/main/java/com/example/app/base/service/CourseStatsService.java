@@ -0,0 +1,39 @@
+package com.example.app.base.service;
+
+import com.example.app.base.repository.SeatRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+public class CourseStatsService {
+
+    private final SeatRepository seatRepo;
+
+    public CourseStatsService(SeatRepository seatRepo) {
+        this.seatRepo = seatRepo;
+    }
+
+    public record CourseStats(long enrolled, Double avgMark, long graded) {
+        public static final CourseStats EMPTY = new CourseStats(0, null, 0);
+    }
+
+    /**
+     * Inscritos, promedio y cantidad de notas de cada curso en una sola consulta agrupada.
+     * Los cursos sin inscripciones no aparecen en el mapa; usar {@link CourseStats#EMPTY}.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CourseStats> statsFor(Collection<Long> courseIds) {
+        Map<Long, CourseStats> stats = new HashMap<>();
+        if (courseIds.isEmpty()) return stats;
+
+        for (SeatRepository.CourseStatsRow row : seatRepo.findStatsByCourseIds(courseIds)) {
+            stats.put(row.getCourseId(),
+                      new CourseStats(row.getEnrolled(), row.getAvgMark(), row.getGraded()));
+        }
+        return stats;
+    }
+}
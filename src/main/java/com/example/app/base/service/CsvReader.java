@@ -0,0 +1,104 @@
+package com.example.app.base.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lector de CSV para las importaciones, fila por fila.
+ * <p>
+ * Acepta campos entre comillas, con {@code ""} como comilla literal y saltos de línea adentro, como los escribe
+ * {@link SeatExportService}. El separador es uno solo por archivo, {@code ,} o {@code ;} (el de las planillas en
+ * español): el primero de los dos que aparece fuera de comillas. Así una coma dentro de un campo entre comillas, o
+ * en un archivo separado por {@code ;}, queda en su columna. Las líneas en blanco se saltean y los campos no se
+ * recortan.
+ * </p>
+ */
+final class CsvReader implements Closeable {
+
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader in;
+    private char separator;
+    private boolean started;
+
+    CsvReader(Reader in) {
+        this.in = in instanceof BufferedReader br ? br : new BufferedReader(in);
+    }
+
+    /** Campos de la próxima fila no vacía, o {@code null} al terminar el archivo. */
+    List<String> next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) return null;
+            if (c == '\n' || c == '\r') continue;
+            List<String> fields = readRecord(c);
+            if (fields.size() > 1 || !fields.get(0).isBlank()) return fields;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private List<String> readRecord(int c) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    int d = in.read();
+                    if (d == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (d != -1) in.reset();
+                    }
+                } else if (c == -1) {
+                    quoted = false;     // comilla sin cerrar: el campo llega hasta el final del archivo
+                    continue;
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == -1 || c == '\n' || c == '\r') {
+                if (c == '\r') skipLineFeed();
+                fields.add(field.toString());
+                return fields;
+            } else if (c == '"' && field.toString().isBlank()) {
+                field.setLength(0);
+                quoted = true;
+            } else if (isSeparator((char) c)) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+
+    private boolean isSeparator(char c) {
+        if (separator == 0 && (c == ',' || c == ';')) separator = c;
+        return c == separator;
+    }
+
+    private int read() throws IOException {
+        int c = in.read();
+        if (!started) {
+            started = true;
+            if (c == BOM) c = in.read();
+        }
+        return c;
+    }
+
+    private void skipLineFeed() throws IOException {
+        in.mark(1);
+        if (in.read() != '\n') in.reset();
+    }
+}
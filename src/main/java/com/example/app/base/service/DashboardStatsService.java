@@ -0,0 +1,128 @@
+package com.example.app.base.service;
+
+import com.example.app.base.repository.DashboardCountsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Totales del panel de administración mantenidos en memoria.
+ * <p>
+ * Los servicios publican un {@link Delta} por cada escritura y se aplica al confirmarse la transacción, así que
+ * abrir el panel no hace ninguna consulta. Las bajas que borran inscripciones en cascada (alumno, profesor, curso)
+ * publican {@link Delta#RECOUNT} y se vuelve a contar todo. Una reconciliación periódica corrige cualquier desvío y
+ * el cambio de año de "inscripciones de este año".
+ * </p>
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardStatsService.class);
+
+    public record DashboardStats(long students, long professors, long courses,
+                                 long seatsThisYear, long graded, long pending,
+                                 int year, Instant reconciledAt) {
+
+        static final DashboardStats EMPTY = new DashboardStats(0, 0, 0, 0, 0, 0,
+                                                               LocalDate.now().getYear(), Instant.EPOCH);
+    }
+
+    /** Variación de los totales causada por una escritura; {@code recount} pide volver a contar todo. */
+    public record Delta(int students, int professors, int courses,
+                        int seatsThisYear, int graded, int pending, boolean recount) {
+
+        public static final Delta RECOUNT = new Delta(0, 0, 0, 0, 0, 0, true);
+
+        public static Delta students(int n)   { return new Delta(n, 0, 0, 0, 0, 0, false); }
+        public static Delta professors(int n) { return new Delta(0, n, 0, 0, 0, 0, false); }
+        public static Delta courses(int n)    { return new Delta(0, 0, n, 0, 0, 0, false); }
+
+        public static Delta seatAdded(LocalDate year, Double mark) {
+            return new Delta(0, 0, 0, isThisYear(year) ? 1 : 0,
+                             mark != null ? 1 : 0, mark != null ? 0 : 1, false);
+        }
+
+        public static Delta seatRemoved(LocalDate year, Double mark) {
+            return seatAdded(year, mark).negate();
+        }
+
+        /* Altas masivas: todas sin nota. */
+        public static Delta seatsAdded(int count, int thisYear) {
+            return new Delta(0, 0, 0, thisYear, 0, count, false);
+        }
+
+        /* Carga de notas: {@code n} inscripciones pasan de pendientes a calificadas (o al revés si es negativo). */
+        public static Delta graded(int n) {
+            return new Delta(0, 0, 0, 0, n, -n, false);
+        }
+
+        public Delta plus(Delta o) {
+            return new Delta(students + o.students, professors + o.professors, courses + o.courses,
+                             seatsThisYear + o.seatsThisYear, graded + o.graded, pending + o.pending,
+                             recount || o.recount);
+        }
+
+        Delta negate() {
+            return new Delta(-students, -professors, -courses, -seatsThisYear, -graded, -pending, recount);
+        }
+
+        public static boolean isThisYear(LocalDate year) {
+            return year != null && year.getYear() == LocalDate.now().getYear();
+        }
+    }
+
+    private final DashboardCountsRepository countsRepo;
+    private final AtomicReference<DashboardStats> stats = new AtomicReference<>(DashboardStats.EMPTY);
+
+    public DashboardStatsService(DashboardCountsRepository countsRepo) {
+        this.countsRepo = countsRepo;
+    }
+
+    /** Sin consultas: devuelve los totales actuales. */
+    public DashboardStats snapshot() {
+        return stats.get();
+    }
+
+    // Fuera de una transacción (p. ej. StudentService.deleteById) el evento se aplica en el momento.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(Delta d) {
+        if (d.recount()) {
+            reconcile();
+            return;
+        }
+        stats.updateAndGet(s -> new DashboardStats(
+                s.students() + d.students(), s.professors() + d.professors(), s.courses() + d.courses(),
+                s.seatsThisYear() + d.seatsThisYear(), s.graded() + d.graded(), s.pending() + d.pending(),
+                s.year(), s.reconciledAt()));
+    }
+
+    /*
+     * Un Delta que se confirma mientras corre la consulta puede quedar contado dos veces o ninguna;
+     * la próxima reconciliación lo corrige.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.dashboard.reconcile-interval:PT10M}",
+               initialDelayString = "${app.dashboard.reconcile-interval:PT10M}")
+    public void reconcile() {
+        int year = LocalDate.now().getYear();
+        DashboardCountsRepository.Counts c = countsRepo.count(year);
+        DashboardStats fresh = new DashboardStats(c.students(), c.professors(), c.courses(),
+                                                  c.seatsInYear(), c.graded(), c.pending(),
+                                                  year, Instant.now());
+        DashboardStats old = stats.getAndSet(fresh);
+        if (!old.reconciledAt().equals(Instant.EPOCH)
+            && (old.students() != fresh.students() || old.professors() != fresh.professors()
+                || old.courses() != fresh.courses() || old.graded() != fresh.graded()
+                || old.pending() != fresh.pending())) {
+            log.debug("Totales del panel corregidos: {} -> {}", old, fresh);
+        }
+    }
+}
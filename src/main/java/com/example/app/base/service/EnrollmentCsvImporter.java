@@ -0,0 +1,127 @@
+package com.example.app.base.service;
+
+import com.example.app.base.repository.CourseRepository;
+import com.example.app.base.repository.SeatBatchRepository;
+import com.example.app.base.repository.StudentRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Importa inscripciones desde un CSV {@code matricula,curso,fecha} (fecha ISO, {@code ,} o {@code ;} como separador,
+ * campos entre comillas si el nombre del curso lo contiene, encabezado opcional; ver {@link CsvReader}).
+ * <p>
+ * Lee el archivo en streaming y procesa lotes del tamaño de {@code app.import.batch-size}: matrículas resueltas con
+ * una consulta {@code IN} por lote, cursos por nombre desde un único listado inicial, y el alta con
+ * {@link SeatService#enrollAll(Collection)}, que descarta duplicados con una consulta por lote. Cada lote se confirma
+ * por separado y se informa el avance al terminarlo.
+ * </p>
+ */
+@Service
+public class EnrollmentCsvImporter {
+
+    public record Result(int read, int inserted, int duplicates,
+                         int unknownStudents, int unknownCourses, int invalid) {
+
+        static final Result EMPTY = new Result(0, 0, 0, 0, 0, 0);
+
+        Result plus(Result o) {
+            return new Result(read + o.read, inserted + o.inserted, duplicates + o.duplicates,
+                              unknownStudents + o.unknownStudents, unknownCourses + o.unknownCourses,
+                              invalid + o.invalid);
+        }
+    }
+
+    private record Row(UUID studentNumber, String courseName, LocalDate date) {}
+
+    private final SeatService seatService;
+    private final StudentRepository studentRepo;
+    private final CourseRepository courseRepo;
+    private final SeatBatchRepository batchRepo;
+
+    public EnrollmentCsvImporter(SeatService seatService,
+                                 StudentRepository studentRepo,
+                                 CourseRepository courseRepo,
+                                 SeatBatchRepository batchRepo) {
+        this.seatService = seatService;
+        this.studentRepo = studentRepo;
+        this.courseRepo  = courseRepo;
+        this.batchRepo   = batchRepo;
+    }
+
+    public Result importCsv(InputStream in, Consumer<Result> progress) throws IOException {
+        Map<String, Long> courses = new HashMap<>();
+        courseRepo.findAllNames().forEach(c -> courses.putIfAbsent(normalize(c.getName()), c.getId()));
+
+        Result total = Result.EMPTY;
+        List<Row> chunk = new ArrayList<>(batchRepo.batchSize());
+        int invalid = 0;
+
+        try (CsvReader reader = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            List<String> fields;
+            boolean first = true;
+            while ((fields = reader.next()) != null) {
+                Row row = parse(fields);
+                if (row == null) {
+                    if (!first) invalid++;
+                } else {
+                    chunk.add(row);
+                }
+                first = false;
+
+                if (chunk.size() == batchRepo.batchSize()) {
+                    total = total.plus(process(chunk, courses, invalid));
+                    chunk.clear();
+                    invalid = 0;
+                    progress.accept(total);
+                }
+            }
+        }
+        total = total.plus(process(chunk, courses, invalid));
+        progress.accept(total);
+        return total;
+    }
+
+    private Result process(List<Row> rows, Map<String, Long> courses, int invalid) {
+        if (rows.isEmpty()) return new Result(invalid, 0, 0, 0, 0, invalid);
+
+        Set<UUID> numbers = new HashSet<>();
+        rows.forEach(r -> numbers.add(r.studentNumber()));
+        Map<UUID, Long> students = new HashMap<>();
+        studentRepo.findIdsByStudentNumbers(numbers).forEach(s -> students.put(s.getStudentNumber(), s.getId()));
+
+        int unknownStudents = 0, unknownCourses = 0;
+        List<SeatBatchRepository.NewSeat> seats = new ArrayList<>(rows.size());
+        for (Row r : rows) {
+            Long studentId = students.get(r.studentNumber());
+            Long courseId  = courses.get(normalize(r.courseName()));
+            if (studentId == null) unknownStudents++;
+            else if (courseId == null) unknownCourses++;
+            else seats.add(new SeatBatchRepository.NewSeat(studentId, courseId, r.date()));
+        }
+
+        int inserted = seatService.enrollAll(seats);
+        return new Result(rows.size() + invalid, inserted, seats.size() - inserted,
+                          unknownStudents, unknownCourses, invalid);
+    }
+
+    private static Row parse(List<String> f) {
+        if (f.size() < 3) return null;
+        try {
+            return new Row(UUID.fromString(f.get(0).trim()), f.get(1).trim(), LocalDate.parse(f.get(2).trim()));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private static String normalize(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
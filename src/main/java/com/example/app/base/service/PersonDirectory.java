@@ -0,0 +1,74 @@
+package com.example.app.base.service;
+
+import com.example.app.base.domain.PersonDirectoryEntry;
+import com.example.app.base.repository.PersonDirectoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Tabla de lectura {@code person_directory}: una fila plana por persona, para que buscadores, selectores y
+ * {@link PersonService} lean de una sola tabla en lugar de unir {@code persons} con alumnos, profesores,
+ * administradores, domicilios y usuarios.
+ * <p>
+ * La mantienen los servicios en cada alta, modificación y baja ({@link #refresh}, {@link #remove}), dentro de la
+ * misma transacción cuando la hay. Cada fila se recalcula desde las tablas de origen, así que no importa qué campo
+ * cambió. Al arrancar se reconstruye completa, antes que el {@link PersonSearchIndex} que se carga desde ella; si
+ * alguna escritura por fuera de los servicios la deja atrás, basta con reiniciar.
+ * </p>
+ */
+@Service
+public class PersonDirectory {
+
+    private final PersonDirectoryRepository repo;
+
+    public PersonDirectory(PersonDirectoryRepository repo) {
+        this.repo = repo;
+    }
+
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void rebuild() {
+        repo.deleteAllRows();
+        repo.insertAllFromSource();
+    }
+
+    @Transactional
+    public void refresh(Long id) {
+        refresh(List.of(id));
+    }
+
+    @Transactional
+    public void refresh(Collection<Long> ids) {
+        if (ids.isEmpty()) return;
+        repo.deleteRows(ids);
+        repo.insertFromSource(ids);
+    }
+
+    @Transactional
+    public void remove(Long id) {
+        repo.deleteRows(List.of(id));
+    }
+
+    @Transactional(readOnly = true)
+    public List<PersonDirectoryEntry> findAll() {
+        return repo.findAllByOrderByName();
+    }
+
+    @Transactional(readOnly = true)
+    public List<PersonDirectoryEntry> findByType(PersonDirectoryEntry.Type type) {
+        return repo.findByTypeOrderByName(type);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PersonDirectoryEntry> findByName(String name) {
+        return repo.findByNameOrderByName(name);
+    }
+}
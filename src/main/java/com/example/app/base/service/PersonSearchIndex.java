@@ -0,0 +1,192 @@
+package com.example.app.base.service;
+
+import com.example.app.base.domain.PersonDirectoryEntry;
+import com.example.app.base.repository.PersonDirectoryRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria por prefijo de palabra sobre nombre, email, usuario y matrícula.
+ * <p>
+ * Reemplaza los {@code LOWER(x) LIKE '%term%'} del buscador: cada palabra del término debe ser prefijo de alguna
+ * palabra indexada de la persona. Devuelve ids ordenados por relevancia (coincidencia exacta antes que prefijo,
+ * luego por nombre) que los servicios cargan con una sola consulta {@code IN}. Se construye al arrancar leyendo
+ * {@code person_directory} (ver {@link PersonDirectory}, que se reconstruye antes) y lo mantienen
+ * {@link StudentService} y {@link ProfessorService} en cada alta, modificación y baja.
+ * </p>
+ */
+@Component
+public class PersonSearchIndex {
+
+    public enum Kind { STUDENT, PROFESSOR }
+
+    private final PersonDirectoryRepository directoryRepo;
+
+    private final Map<Kind, Shard> shards = new EnumMap<>(Kind.class);
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public PersonSearchIndex(PersonDirectoryRepository directoryRepo) {
+        this.directoryRepo = directoryRepo;
+        for (Kind kind : Kind.values()) shards.put(kind, new Shard());
+    }
+
+    private static final class Shard {
+        final Map<Long, Doc> docs = new HashMap<>();
+        final NavigableMap<String, Set<Long>> postings = new TreeMap<>();
+    }
+
+    private record Doc(String name, Set<String> tokens) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            shards.values().forEach(s -> { s.docs.clear(); s.postings.clear(); });
+            for (PersonDirectoryEntry e : directoryRepo.findAll()) {
+                switch (e.getType()) {
+                    case STUDENT -> doPut(Kind.STUDENT, e.getId(), e.getName(), e.getEmail(), e.getUsername(),
+                            e.getStudentNumber() != null ? e.getStudentNumber().toString() : null);
+                    case PROFESSOR -> doPut(Kind.PROFESSOR, e.getId(), e.getName(), e.getEmail(), e.getUsername());
+                    case ADMINISTRATOR -> { }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /*
+     * put y remove, llamados dentro de una transacción, se aplican recién al confirmar: si se revierte (por ejemplo
+     * un email repetido) el índice compartido no tiene que quedar con altas fantasma ni bajas que no ocurrieron.
+     */
+    public void put(Kind kind, Long id, String name, String... fields) {
+        afterCommit(() -> doReplace(kind, id, name, fields));
+    }
+
+    public void remove(Kind kind, Long id) {
+        afterCommit(() -> doRemoveLocked(kind, id));
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private void doReplace(Kind kind, Long id, String name, String... fields) {
+        lock.writeLock().lock();
+        try {
+            doRemove(kind, id);
+            doPut(kind, id, name, fields);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void doRemoveLocked(Kind kind, Long id) {
+        lock.writeLock().lock();
+        try {
+            doRemove(kind, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Ids que coinciden con todas las palabras de {@code term}, de mayor a menor relevancia. */
+    public List<Long> search(Kind kind, String term) {
+        List<String> words = tokenize(term);
+        if (words.isEmpty()) return List.of();
+
+        lock.readLock().lock();
+        try {
+            Shard shard = shards.get(kind);
+            Map<Long, Integer> scores = new HashMap<>();
+            String first = words.get(0);
+            for (Set<Long> ids : shard.postings.subMap(first, true, first + Character.MAX_VALUE, false).values()) {
+                for (Long id : ids) scores.putIfAbsent(id, 0);
+            }
+
+            Iterator<Map.Entry<Long, Integer>> it = scores.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Long, Integer> e = it.next();
+                int score = score(shard.docs.get(e.getKey()).tokens(), words);
+                if (score < 0) it.remove();
+                else e.setValue(score);
+            }
+
+            return scores.entrySet().stream()
+                    .sorted(Comparator.<Map.Entry<Long, Integer>>comparingInt(Map.Entry::getValue)
+                            .thenComparing(e -> shard.docs.get(e.getKey()).name()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /* 0 por palabra exacta, 1 por prefijo; -1 si alguna palabra no coincide. */
+    private static int score(Set<String> tokens, List<String> words) {
+        int total = 0;
+        for (String w : words) {
+            if (tokens.contains(w)) continue;
+            boolean prefix = false;
+            for (String t : tokens) {
+                if (t.startsWith(w)) { prefix = true; break; }
+            }
+            if (!prefix) return -1;
+            total++;
+        }
+        return total;
+    }
+
+    private void doPut(Kind kind, Long id, String name, String... fields) {
+        Set<String> tokens = new HashSet<>(tokenize(name));
+        for (String f : fields) {
+            if (f == null) continue;
+            tokens.addAll(tokenize(f));
+            tokens.add(normalize(f));
+        }
+        Shard shard = shards.get(kind);
+        shard.docs.put(id, new Doc(normalize(name), tokens));
+        for (String t : tokens) shard.postings.computeIfAbsent(t, k -> new HashSet<>()).add(id);
+    }
+
+    private void doRemove(Kind kind, Long id) {
+        Shard shard = shards.get(kind);
+        Doc old = shard.docs.remove(id);
+        if (old == null) return;
+        for (String t : old.tokens()) {
+            Set<Long> ids = shard.postings.get(t);
+            if (ids != null && ids.remove(id) && ids.isEmpty()) shard.postings.remove(t);
+        }
+    }
+
+    private static List<String> tokenize(String value) {
+        if (value == null) return List.of();
+        return Arrays.stream(normalize(value).split("[^\\p{Alnum}]+"))
+                     .filter(t -> !t.isEmpty())
+                     .toList();
+    }
+
+    private static String normalize(String value) {
+        if (value == null) return "";
+        return Normalizer.normalize(value.trim(), Normalizer.Form.NFD)
+                         .replaceAll("\\p{M}", "")
+                         .toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.app.base.service;
 
 import com.example.app.base.domain.Person;
+import com.example.app.base.domain.PersonDirectoryEntry;
+import com.example.app.base.domain.User;
 import com.example.app.base.repository.PersonRepository;
+import com.example.app.security.UserCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -10,34 +13,53 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
+/* Los listados salen de person_directory (ver PersonDirectory); las entidades sólo se cargan para editar. */
 @Service
 @Transactional
 public class PersonService {
     private final PersonRepository repo;
+    private final PersonDirectory directory;
+    private final UserCache userCache;
+    private final SeatService seatService;
 
     @Autowired
-    public PersonService(PersonRepository repo) {
+    public PersonService(PersonRepository repo, PersonDirectory directory, UserCache userCache,
+                         SeatService seatService) {
         this.repo = repo;
+        this.directory = directory;
+        this.userCache = userCache;
+        this.seatService = seatService;
     }
 
-    public List<Person> findAll() {
-        return repo.findAll();
+    public List<PersonDirectoryEntry> findAll() {
+        return directory.findAll();
     }
 
     public Optional<Person> findById(Long id) {
         return repo.findById(id);
     }
 
+    /*
+     * El usuario se borra en cascada, y si es alumno o profesor también sus inscripciones: se lo saca de la caché de
+     * login y se avisa a SeatService por los cursos al confirmar.
+     */
     public void deleteById(Long id) {
+        Long userId = repo.findById(id).map(Person::getUser).map(User::getId).orElse(null);
+        List<Long> courseIds = seatService.findCourseIdsByPersonId(id);
         repo.deleteById(id);
+        userCache.invalidateByIdAfterCommit(userId);
+        seatService.cascadeRemoved(courseIds);
+        directory.remove(id);
     }
 
 
-    public List<Person> findByLastName(String name) {
-        return repo.findByName(name);
+    public List<PersonDirectoryEntry> findByLastName(String name) {
+        return directory.findByName(name);
     }
-    
+
     public Person save(Person person) {
-        return repo.save(person);
+        Person saved = repo.save(person);
+        directory.refresh(saved.getId());
+        return saved;
     }
-}
\ No newline at end of file
+}
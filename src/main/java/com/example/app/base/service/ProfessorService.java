@@ -1,25 +1,114 @@
 package com.example.app.base.service;
 
 import com.example.app.base.domain.Professor;
+import com.example.app.base.domain.User;
+import com.example.app.base.repository.AccountBatchRepository;
 import com.example.app.base.repository.ProfessorRepository;
+import com.example.app.base.repository.SeatRepository;
+import com.example.app.security.UserCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ProfessorService {
 
     private final ProfessorRepository repo;
+    private final PersonSearchIndex searchIndex;
+    private final SeatRepository seatRepo;
+    private final StudentMarkService studentMarks;
+    private final ApplicationEventPublisher events;
+    private final AccountProvisioner provisioner;
+    private final AccountBatchRepository batchRepo;
+    private final EntityManagerFactory emf;
+    private final PersonDirectory personDirectory;
+    private final UserCache userCache;
+    private final SeatService seatService;
 
-    public ProfessorService(ProfessorRepository repo) {
-        this.repo = repo;
+    public ProfessorService(ProfessorRepository repo,
+                            PersonSearchIndex searchIndex,
+                            SeatRepository seatRepo,
+                            StudentMarkService studentMarks,
+                            ApplicationEventPublisher events,
+                            AccountProvisioner provisioner,
+                            AccountBatchRepository batchRepo,
+                            EntityManagerFactory emf,
+                            PersonDirectory personDirectory,
+                            UserCache userCache,
+                            SeatService seatService) {
+        this.repo         = repo;
+        this.searchIndex  = searchIndex;
+        this.seatRepo     = seatRepo;
+        this.studentMarks = studentMarks;
+        this.events       = events;
+        this.provisioner  = provisioner;
+        this.batchRepo    = batchRepo;
+        this.emf          = emf;
+        this.personDirectory = personDirectory;
+        this.userCache    = userCache;
+        this.seatService  = seatService;
     }
 
     public List<Professor> findAll()                  { return repo.findAll(); }
     public Optional<Professor> findById(Long id)      { return repo.findById(id); }
-    public void deleteById(Long id)                   { repo.deleteById(id); }
-    public Professor save(Professor professor)        { return repo.save(professor); }
+
+    /*
+     * Cursos e inscripciones se borran en cascada: se recalcula el promedio de sus alumnos y se avisa a SeatService
+     * por los cursos. El usuario también se borra en cascada y se lo saca de la caché de login al confirmar.
+     */
+    @Transactional
+    public void deleteById(Long id) {
+        List<Long> studentIds = seatRepo.findStudentIdsByProfessorId(id);
+        List<Long> courseIds = seatService.findCourseIdsByPersonId(id);
+        Long userId = repo.findById(id).map(Professor::getUser).map(User::getId).orElse(null);
+        repo.deleteById(id);
+        userCache.invalidateByIdAfterCommit(userId);
+        studentMarks.recompute(studentIds);
+        seatService.cascadeRemoved(courseIds);
+        searchIndex.remove(PersonSearchIndex.Kind.PROFESSOR, id);
+        personDirectory.remove(id);
+        events.publishEvent(DashboardStatsService.Delta.RECOUNT);
+    }
+
+    @Transactional
+    public Professor save(Professor professor) {
+        boolean isNew = professor.getId() == null;
+        Professor saved = repo.save(professor);
+        searchIndex.put(PersonSearchIndex.Kind.PROFESSOR, saved.getId(), saved.getName(),
+                        saved.getEmail(),
+                        saved.getUser() != null ? saved.getUser().getUsername() : null);
+        personDirectory.refresh(saved.getId());
+        if (isNew) events.publishEvent(DashboardStatsService.Delta.professors(1));
+        return saved;
+    }
+
+    /*
+     * Alta masiva, igual que StudentService.provisionAll; cada cuenta tiene que traer el sueldo. Los INSERT van por
+     * JDBC, fuera de Hibernate, así que el findAll cacheado se descarta a mano una vez confirmado el lote.
+     */
+    public int provisionAll(List<AccountBatchRepository.NewAccount> accounts) {
+        AccountProvisioner.Prepared prepared = provisioner.prepare(accounts);
+        List<AccountBatchRepository.Created> created = batchRepo.insertProfessors(prepared.accounts());
+        for (AccountBatchRepository.Created c : created) {
+            searchIndex.put(PersonSearchIndex.Kind.PROFESSOR, c.id(), c.account().name(),
+                            c.account().email(), c.account().username());
+        }
+        if (!created.isEmpty()) {
+            personDirectory.refresh(created.stream().map(AccountBatchRepository.Created::id).toList());
+            emf.unwrap(SessionFactory.class).getCache().evictQueryRegion(ProfessorRepository.ALL_QUERY_REGION);
+            events.publishEvent(DashboardStatsService.Delta.professors(created.size()));
+        }
+        return created.size();
+    }
 
     public Optional<Professor> findByUserId(Long id)  { return repo.findByUserId(id); }
 
@@ -30,6 +119,13 @@ public class ProfessorService {
     public List<Professor> search(String term) {
         return term == null || term.isBlank()
                ? repo.findAll()
-               : repo.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(term, term);
+               : findRanked(searchIndex.search(PersonSearchIndex.Kind.PROFESSOR, term));
+    }
+
+    private List<Professor> findRanked(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Professor> byId = repo.findAllById(ids).stream()
+                .collect(Collectors.toMap(Professor::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 }
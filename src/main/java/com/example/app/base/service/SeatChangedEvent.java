@@ -0,0 +1,24 @@
+package com.example.app.base.service;
+
+import java.util.List;
+
+/**
+ * Cambio en las inscripciones de un curso, publicado por {@link SeatService} y entregado a los oyentes al
+ * confirmarse la transacción.
+ * <p>
+ * {@code seatIds} vacío significa que no se conocen las filas afectadas (altas masivas por JDBC, bajas en cascada)
+ * y hay que volver a leer el curso completo.
+ * </p>
+ */
+public record SeatChangedEvent(Type type, Long courseId, List<Long> seatIds) {
+
+    public enum Type { ADDED, UPDATED, REMOVED }
+
+    public static SeatChangedEvent added(Long courseId, Long seatId)   { return new SeatChangedEvent(Type.ADDED, courseId, List.of(seatId)); }
+    public static SeatChangedEvent updated(Long courseId, Long seatId) { return new SeatChangedEvent(Type.UPDATED, courseId, List.of(seatId)); }
+    public static SeatChangedEvent removed(Long courseId, Long seatId) { return new SeatChangedEvent(Type.REMOVED, courseId, List.of(seatId)); }
+
+    public boolean isReload() {
+        return seatIds.isEmpty();
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.app.base.service;
+
+import com.example.app.base.repository.SeatRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+/**
+ * Exporta inscripciones y notas a CSV con memoria constante.
+ * <p>
+ * Recorre un {@code Stream} de proyecciones que MySQL entrega fila por fila y escribe cada una directamente en el
+ * {@link Writer} de la respuesta, así exportar todo el historial no carga las inscripciones en memoria.
+ * </p>
+ */
+@Service
+public class SeatExportService {
+
+    /* Filtros opcionales; {@code null} significa sin filtro. */
+    public record Filter(Long courseId, Integer year, Long studentId) {}
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final SeatRepository repo;
+
+    public SeatExportService(SeatRepository repo) {
+        this.repo = repo;
+    }
+
+    @Transactional(readOnly = true)
+    public void writeCsv(Filter filter, Writer out) throws IOException {
+        LocalDate from = filter.year() != null ? LocalDate.of(filter.year(), 1, 1) : null;
+        LocalDate to   = filter.year() != null ? from.plusYears(1) : null;
+
+        out.write("id,curso,alumno,matricula,anio,nota,fecha_evaluacion\n");
+        try (Stream<SeatRepository.ExportRow> rows =
+                     repo.streamForExport(filter.courseId(), filter.studentId(), from, to)) {
+            int[] count = { 0 };
+            rows.forEach(r -> {
+                try {
+                    out.write(r.getId() + ","
+                              + csv(r.getCourseName()) + ","
+                              + csv(r.getStudentName()) + ","
+                              + (r.getStudentNumber() != null ? r.getStudentNumber() : "") + ","
+                              + r.getYear() + ","
+                              + (r.getMark() != null ? r.getMark() : "") + ","
+                              + (r.getEvaluationDate() != null ? r.getEvaluationDate() : "") + "\n");
+                    if (++count[0] % FLUSH_EVERY == 0) out.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        out.flush();
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -1,19 +1,45 @@
 package com.example.app.base.service;
 
 import com.example.app.base.domain.Seat;
+import com.example.app.base.repository.SeatBatchRepository;
 import com.example.app.base.repository.SeatRepository;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
 public class SeatService {
 
     private final SeatRepository repo;
+    private final SeatBatchRepository batchRepo;
+    private final StudentMarkService studentMarks;
+    private final CourseAnalyticsService analytics;
+    private final ApplicationEventPublisher events;
 
-    public SeatService(SeatRepository repo) { this.repo = repo; }
+    public SeatService(SeatRepository repo,
+                       SeatBatchRepository batchRepo,
+                       StudentMarkService studentMarks,
+                       CourseAnalyticsService analytics,
+                       ApplicationEventPublisher events) {
+        this.repo         = repo;
+        this.batchRepo    = batchRepo;
+        this.studentMarks = studentMarks;
+        this.analytics    = analytics;
+        this.events       = events;
+    }
 
     public static class DuplicateEnrollmentException extends RuntimeException {
         public DuplicateEnrollmentException() {
@@ -24,27 +50,175 @@ public class SeatService {
     public List<Seat> findAll()             { return repo.findAll(); }
     public Optional<Seat> findById(Long id) { return repo.findById(id); }
 
+    /*
+     * Sin verificar antes si ya existe: el INSERT/UPDATE va directo y la restricción única
+     * seats(student_id, course_id) decide, así dos inscripciones simultáneas no pueden duplicarse.
+     */
     @Transactional
     public Seat save(Seat seat) {
 
-        Long courseId  = seat.getCourse().getId();
         Long studentId = seat.getStudent().getId();
 
-        boolean exists = repo.existsByCourseIdAndStudentId(courseId, studentId);
+        SeatRepository.MarkSnapshot before =
+                seat.getId() == null ? null : repo.findMarkSnapshot(seat.getId()).orElse(null);
+
+        // El promedio del alumno se actualiza antes de escribir la inscripción: el bloqueo de su fila
+        // ordena a los escritores concurrentes y evita el deadlock con el chequeo de la clave única.
+        if (before == null) {
+            studentMarks.seatAdded(studentId, seat.getMark());
+            analytics.invalidate(List.of(seat.getCourse().getId()));
+            events.publishEvent(DashboardStatsService.Delta.seatAdded(seat.getYear(), seat.getMark()));
+        } else {
+            studentMarks.seatChanged(before.getStudentId(), before.getMark(), studentId, seat.getMark());
+            analytics.invalidate(List.of(before.getCourseId(), seat.getCourse().getId()));
+            events.publishEvent(DashboardStatsService.Delta.seatRemoved(before.getYear(), before.getMark())
+                    .plus(DashboardStatsService.Delta.seatAdded(seat.getYear(), seat.getMark())));
+        }
+
+        Seat saved;
+        try {
+            saved = repo.saveAndFlush(seat);
+        } catch (DataIntegrityViolationException ex) {
+            if (isDuplicateEnrollment(ex)) throw new DuplicateEnrollmentException();
+            throw ex;
+        }
+
+        Long courseId = saved.getCourse().getId();
+        if (before == null) {
+            events.publishEvent(SeatChangedEvent.added(courseId, saved.getId()));
+        } else if (before.getCourseId().equals(courseId)) {
+            events.publishEvent(SeatChangedEvent.updated(courseId, saved.getId()));
+        } else {
+            events.publishEvent(SeatChangedEvent.removed(before.getCourseId(), saved.getId()));
+            events.publishEvent(SeatChangedEvent.added(courseId, saved.getId()));
+        }
+        return saved;
+    }
+
+    @Transactional
+    public int enrollAll(Long courseId, Collection<Long> studentIds) {
+        return enrollAll(courseId, studentIds, LocalDate.now());
+    }
+
+    @Transactional
+    public int enrollAll(Long courseId, Collection<Long> studentIds, LocalDate year) {
+        return enrollAll(studentIds.stream()
+                                   .map(id -> new SeatBatchRepository.NewSeat(id, courseId, year))
+                                   .toList());
+    }
+
+    /*
+     * Alta masiva: por cada lote, una consulta trae las inscripciones ya existentes entre esos
+     * cursos y alumnos, se descartan y el resto entra con un INSERT por lotes JDBC.
+     * Devuelve cuántas inscripciones se crearon.
+     */
+    @Transactional
+    public int enrollAll(Collection<SeatBatchRepository.NewSeat> seats) {
+        Map<EnrollmentKey, SeatBatchRepository.NewSeat> unique = new LinkedHashMap<>();
+        for (SeatBatchRepository.NewSeat s : seats) {
+            unique.putIfAbsent(new EnrollmentKey(s.courseId(), s.studentId()), s);
+        }
+        List<SeatBatchRepository.NewSeat> all = List.copyOf(unique.values());
+
+        int inserted = 0;
+        for (int from = 0; from < all.size(); from += batchRepo.batchSize()) {
+            List<SeatBatchRepository.NewSeat> chunk =
+                    all.subList(from, Math.min(from + batchRepo.batchSize(), all.size()));
+
+            Set<Long> courseIds  = new HashSet<>();
+            Set<Long> studentIds = new HashSet<>();
+            chunk.forEach(s -> { courseIds.add(s.courseId()); studentIds.add(s.studentId()); });
+
+            Set<EnrollmentKey> existing = new HashSet<>();
+            repo.findEnrollments(courseIds, studentIds)
+                .forEach(k -> existing.add(new EnrollmentKey(k.getCourseId(), k.getStudentId())));
 
-        if (exists && (seat.getId() == null ||
-              !repo.findById(seat.getId())
-                   .map(s -> s.getCourse().getId().equals(courseId)
-                          && s.getStudent().getId().equals(studentId))
-                   .orElse(false))) {
-            throw new DuplicateEnrollmentException();
+            List<SeatBatchRepository.NewSeat> fresh = new ArrayList<>();
+            for (SeatBatchRepository.NewSeat s : chunk) {
+                if (!existing.contains(new EnrollmentKey(s.courseId(), s.studentId()))) fresh.add(s);
+            }
+
+            try {
+                batchRepo.insertAll(fresh);
+            } catch (DataIntegrityViolationException ex) {
+                if (isDuplicateEnrollment(ex)) throw new DuplicateEnrollmentException();
+                throw ex;
+            }
+            studentMarks.recompute(fresh.stream().map(SeatBatchRepository.NewSeat::studentId)
+                                        .distinct().toList());
+            analytics.invalidate(fresh.stream().map(SeatBatchRepository.NewSeat::courseId)
+                                      .distinct().toList());
+            events.publishEvent(DashboardStatsService.Delta.seatsAdded(fresh.size(),
+                    (int) fresh.stream().filter(s -> DashboardStatsService.Delta.isThisYear(s.year())).count()));
+            // el INSERT por lotes no devuelve ids: los cursos afectados se releen
+            fresh.stream().map(SeatBatchRepository.NewSeat::courseId).distinct()
+                 .forEach(c -> events.publishEvent(new SeatChangedEvent(SeatChangedEvent.Type.ADDED, c, List.of())));
+            inserted += fresh.size();
         }
-        return repo.save(seat);
+        return inserted;
+    }
+
+    private record EnrollmentKey(Long courseId, Long studentId) {}
+
+    public record MarkUpdate(Double mark, LocalDate evaluationDate) {}
+
+    /*
+     * Carga de notas en bloque: sólo cambia nota y fecha de evaluación, así que no hace falta el
+     * control de duplicados de save(). Un UPDATE por lotes JDBC y un recálculo de promedios.
+     */
+    @Transactional
+    public void updateMarks(Map<Long, MarkUpdate> marks) {
+        if (marks.isEmpty()) return;
+
+        List<Long> studentIds = repo.findStudentIdsBySeatIds(marks.keySet());
+        List<Long> courseIds  = repo.findCourseIdsBySeatIds(marks.keySet());
+        long gradedBefore     = repo.countGradedByIds(marks.keySet());
+        long gradedAfter      = marks.values().stream().filter(m -> m.mark() != null).count();
+        batchRepo.updateMarks(marks.entrySet().stream()
+                .map(e -> new SeatBatchRepository.MarkUpdate(e.getKey(),
+                                                             e.getValue().mark(),
+                                                             e.getValue().evaluationDate()))
+                .toList());
+        studentMarks.recompute(studentIds);
+        analytics.invalidate(courseIds);
+        events.publishEvent(DashboardStatsService.Delta.graded((int) (gradedAfter - gradedBefore)));
+        List<Long> seatIds = List.copyOf(marks.keySet());
+        courseIds.forEach(c -> events.publishEvent(
+                new SeatChangedEvent(SeatChangedEvent.Type.UPDATED, c, seatIds)));
+    }
+
+    private static boolean isDuplicateEnrollment(DataIntegrityViolationException ex) {
+        if (ex instanceof DuplicateKeyException) return true;
+        return ex.getCause() instanceof ConstraintViolationException cve
+               && (cve.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE
+                   || Seat.UNIQUE_ENROLLMENT.equalsIgnoreCase(cve.getConstraintName()));
+    }
+
+    @Transactional
+    public void deleteById(Long id) {
+        repo.findMarkSnapshot(id).ifPresent(before -> {
+            repo.deleteById(id);
+            studentMarks.seatRemoved(before.getStudentId(), before.getMark());
+            analytics.invalidate(List.of(before.getCourseId()));
+            events.publishEvent(DashboardStatsService.Delta.seatRemoved(before.getYear(), before.getMark()));
+            events.publishEvent(SeatChangedEvent.removed(before.getCourseId(), id));
+        });
+    }
+
+    /*
+     * Las inscripciones que se borran en cascada con un alumno, profesor o curso no pasan por deleteById: quien borra
+     * lee los cursos antes (findCourseIdsByPersonId) y avisa acá, así la analítica de esos cursos se invalida al
+     * confirmar y las vistas abiertas los releen (no se conocen los ids de las filas borradas).
+     */
+    public void cascadeRemoved(Collection<Long> courseIds) {
+        analytics.invalidate(courseIds);
+        courseIds.forEach(c -> events.publishEvent(new SeatChangedEvent(SeatChangedEvent.Type.REMOVED, c, List.of())));
     }
 
-    public void deleteById(Long id) { repo.deleteById(id); }
+    public List<Long> findCourseIdsByPersonId(Long personId) { return repo.findCourseIdsByPersonId(personId); }
 
     public List<Seat> findByCourseId(Long id)           { return repo.findByCourseId(id); }
+    public List<Seat> findAllById(Collection<Long> ids) { return repo.findAllById(ids); }
     public List<Seat> findByStudentUserId(Long userId)  { return repo.findByStudentUserId(userId); }
     public List<Seat> findByStudentName(String name)    { return repo.findByStudentNameContainingIgnoreCase(name); }
     public List<Seat> findByStudentNumber(UUID number)  { return repo.findByStudentStudentNumber(number); }
@@ -0,0 +1,82 @@
+package com.example.app.base.service;
+
+import com.example.app.base.domain.PersonDirectoryEntry;
+import com.example.app.base.repository.PersonDirectoryRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Listado liviano de alumnos (id, nombre, email, matrícula) compartido entre todas las sesiones de UI.
+ * <p>
+ * Los selectores de alumno lo consultan en lugar de cargar todas las entidades {@code Student}; se recarga desde
+ * {@code person_directory} (una sola tabla, ya ordenada por el índice de tipo y nombre) cuando vence el TTL o cuando
+ * {@link StudentService} registra un cambio.
+ * </p>
+ */
+@Component
+public class StudentDirectory {
+
+    private static final Duration TTL = Duration.ofSeconds(30);
+
+    public record Entry(Long id, String name, String email, UUID studentNumber) {}
+
+    private record Snapshot(List<Entry> entries, Instant loadedAt) {}
+
+    private final PersonDirectoryRepository repo;
+    private final Clock clock;
+
+    private volatile Snapshot snapshot;
+    private final AtomicLong generation = new AtomicLong();
+
+    public StudentDirectory(PersonDirectoryRepository repo, Clock clock) {
+        this.repo  = repo;
+        this.clock = clock;
+    }
+
+    public List<Entry> entries() {
+        Snapshot current = snapshot;
+        Instant now = clock.instant();
+        if (current == null || current.loadedAt().plus(TTL).isBefore(now)) {
+            long gen = generation.get();
+            current = new Snapshot(load(), now);
+            if (generation.get() == gen) snapshot = current;
+        }
+        return current.entries();
+    }
+
+    /*
+     * Como CourseAnalyticsService.invalidate: dentro de una transacción se descarta recién al confirmar, si no un
+     * selector que lee en el medio recargaría las filas de antes del commit y las dejaría en caché todo el TTL.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    discard();
+                }
+            });
+        } else {
+            discard();
+        }
+    }
+
+    private void discard() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private List<Entry> load() {
+        return repo.findByTypeOrderByName(PersonDirectoryEntry.Type.STUDENT).stream()
+                   .map(e -> new Entry(e.getId(), e.getName(), e.getEmail(), e.getStudentNumber()))
+                   .toList();
+    }
+}
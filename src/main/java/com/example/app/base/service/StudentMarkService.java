@@ -0,0 +1,91 @@
+package com.example.app.base.service;
+
+import com.example.app.base.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Mantiene {@code students.avg_mark} junto con la suma de notas y la cantidad de inscripciones.
+ * <p>
+ * {@link SeatService} aplica los cambios de forma incremental dentro de su propia transacción; las bajas en cascada
+ * (curso o profesor eliminado) recalculan sólo a los alumnos afectados, y un job nocturno recalcula todo por si
+ * alguna escritura quedó fuera de estos caminos. Sin nota cuenta como 0, igual que el promedio que mostraba el panel.
+ * Los alumnos que ya tenían inscripciones antes de existir los contadores se completan al arrancar, antes de que
+ * el primer incremento parta de {@code NULL}.
+ * </p>
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+public class StudentMarkService {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentMarkService.class);
+
+    private final StudentRepository repo;
+    private final TransactionTemplate tx;
+
+    public StudentMarkService(StudentRepository repo, PlatformTransactionManager txManager) {
+        this.repo = repo;
+        this.tx   = new TransactionTemplate(txManager);
+    }
+
+    /*
+     * En la inicialización del bean, no en ApplicationReadyEvent: para entonces el servidor ya acepta pedidos y una
+     * inscripción podría sumar sobre contadores vacíos y pisar el promedio correcto.
+     */
+    @PostConstruct
+    void backfill() {
+        tx.executeWithoutResult(status -> {
+            List<Long> ids = repo.findIdsMissingMarkCounters();
+            if (ids.isEmpty()) return;
+            repo.recomputeMarks(ids);
+            log.info("Contadores de notas completados para {} alumnos", ids.size());
+        });
+    }
+
+    public void seatAdded(Long studentId, Double mark) {
+        apply(studentId, valueOf(mark), 1);
+    }
+
+    public void seatRemoved(Long studentId, Double mark) {
+        apply(studentId, -valueOf(mark), -1);
+    }
+
+    public void seatChanged(Long oldStudentId, Double oldMark, Long newStudentId, Double newMark) {
+        if (oldStudentId.equals(newStudentId)) {
+            if (valueOf(oldMark) != valueOf(newMark)) apply(newStudentId, valueOf(newMark) - valueOf(oldMark), 0);
+        } else {
+            seatRemoved(oldStudentId, oldMark);
+            seatAdded(newStudentId, newMark);
+        }
+    }
+
+    public void recompute(Collection<Long> studentIds) {
+        if (!studentIds.isEmpty()) repo.recomputeMarks(studentIds);
+    }
+
+    @Scheduled(cron = "${app.student-marks.repair-cron:0 30 3 * * *}")
+    @Transactional(propagation = Propagation.REQUIRED)
+    public void recomputeAll() {
+        int updated = repo.recomputeAllMarks();
+        log.info("Promedios de alumnos recalculados: {}", updated);
+    }
+
+    private void apply(Long studentId, double sumDelta, int countDelta) {
+        repo.addToMarks(studentId, sumDelta, countDelta);
+        repo.refreshAvgMark(studentId);
+    }
+
+    private static double valueOf(Double mark) {
+        return mark != null ? mark : 0.0;
+    }
+}
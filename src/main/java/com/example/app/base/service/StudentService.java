@@ -1,26 +1,109 @@
 package com.example.app.base.service;
 
 import com.example.app.base.domain.Student;
+import com.example.app.base.domain.User;
+import com.example.app.base.repository.AccountBatchRepository;
 import com.example.app.base.repository.StudentRepository;
+import com.example.app.security.UserCache;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class StudentService {
 
     private final StudentRepository repo;
+    private final PersonSearchIndex searchIndex;
+    private final StudentDirectory directory;
+    private final PersonDirectory personDirectory;
+    private final ApplicationEventPublisher events;
+    private final AccountProvisioner provisioner;
+    private final AccountBatchRepository batchRepo;
+    private final UserCache userCache;
+    private final SeatService seatService;
 
-    public StudentService(StudentRepository repo) {
-        this.repo = repo;
+    public StudentService(StudentRepository repo,
+                          PersonSearchIndex searchIndex,
+                          StudentDirectory directory,
+                          PersonDirectory personDirectory,
+                          ApplicationEventPublisher events,
+                          AccountProvisioner provisioner,
+                          AccountBatchRepository batchRepo,
+                          UserCache userCache,
+                          SeatService seatService) {
+        this.repo        = repo;
+        this.searchIndex = searchIndex;
+        this.directory   = directory;
+        this.personDirectory = personDirectory;
+        this.events      = events;
+        this.provisioner = provisioner;
+        this.batchRepo   = batchRepo;
+        this.userCache   = userCache;
+        this.seatService = seatService;
     }
 
     public List<Student> findAll()                   { return repo.findAll(); }
     public Optional<Student> findById(Long id)       { return repo.findById(id); }
-    public void deleteById(Long id)                  { repo.deleteById(id); }
-    public Student save(Student student)             { return repo.save(student); }
+
+    /*
+     * El usuario y las inscripciones se borran en cascada con el alumno: se lo saca de la caché de login y se avisa
+     * a SeatService por sus cursos al confirmar.
+     */
+    @Transactional
+    public void deleteById(Long id) {
+        Long userId = repo.findById(id).map(Student::getUser).map(User::getId).orElse(null);
+        List<Long> courseIds = seatService.findCourseIdsByPersonId(id);
+        repo.deleteById(id);
+        userCache.invalidateByIdAfterCommit(userId);
+        seatService.cascadeRemoved(courseIds);
+        searchIndex.remove(PersonSearchIndex.Kind.STUDENT, id);
+        personDirectory.remove(id);
+        directory.invalidate();
+        events.publishEvent(DashboardStatsService.Delta.RECOUNT);
+    }
+
+    @Transactional
+    public Student save(Student student) {
+        boolean isNew = student.getId() == null;
+        Student saved = repo.save(student);
+        searchIndex.put(PersonSearchIndex.Kind.STUDENT, saved.getId(), saved.getName(),
+                        saved.getEmail(),
+                        saved.getUser() != null ? saved.getUser().getUsername() : null,
+                        saved.getStudentNumber() != null ? saved.getStudentNumber().toString() : null);
+        personDirectory.refresh(saved.getId());
+        directory.invalidate();
+        if (isNew) events.publishEvent(DashboardStatsService.Delta.students(1));
+        return saved;
+    }
+
+    /*
+     * Alta masiva: usuario, domicilio, persona y alumno con un lote JDBC por tabla. Las cuentas repetidas
+     * (usuario o email) se descartan; devuelve cuántas se crearon.
+     */
+    public int provisionAll(List<AccountBatchRepository.NewAccount> accounts) {
+        AccountProvisioner.Prepared prepared = provisioner.prepare(accounts);
+        List<AccountBatchRepository.Created> created = batchRepo.insertStudents(prepared.accounts());
+        for (AccountBatchRepository.Created c : created) {
+            searchIndex.put(PersonSearchIndex.Kind.STUDENT, c.id(), c.account().name(),
+                            c.account().email(), c.account().username(), c.studentNumber().toString());
+        }
+        if (!created.isEmpty()) {
+            personDirectory.refresh(created.stream().map(AccountBatchRepository.Created::id).toList());
+            directory.invalidate();
+            events.publishEvent(DashboardStatsService.Delta.students(created.size()));
+        }
+        return created.size();
+    }
 
     public Optional<Student> findByUserId(Long id)   { return repo.findByUserId(id); }
+    public Optional<Double> findAvgMark(Long id)     { return repo.findAvgMarkById(id); }
 
     public Optional<Student> findWithUserById(Long id) {
         return repo.findWithUserById(id);
@@ -29,6 +112,19 @@ public class StudentService {
     public List<Student> search(String term) {
         return term == null || term.isBlank()
                ? repo.findAll()
-               : repo.findByNameContainingIgnoreCaseOrEmailContainingIgnoreCase(term, term);
+               : findRanked(searchIndex.search(PersonSearchIndex.Kind.STUDENT, term));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Student> listNotEnrolledIn(Long courseId, String term, Pageable pageable) {
+        String t = term == null ? "" : term.trim();
+        return repo.findNotEnrolledIn(courseId, t, pageable).toList();
+    }
+
+    private List<Student> findRanked(List<Long> ids) {
+        if (ids.isEmpty()) return List.of();
+        Map<Long, Student> byId = repo.findAllById(ids).stream()
+                .collect(Collectors.toMap(Student::getId, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
     }
 }
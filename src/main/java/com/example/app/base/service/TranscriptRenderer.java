@@ -0,0 +1,165 @@
+package com.example.app.base.service;
+
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Genera constancias de calificaciones en PDF 1.4 sin dependencias externas.
+ * <p>
+ * Usa las fuentes estándar Helvetica / Helvetica-Bold (no se embeben) y solo texto, así que cada documento pesa
+ * unos pocos KB. Los objetos fijos (catálogo, fuentes) se serializan una única vez y se copian en cada documento;
+ * el renderer no tiene estado y es seguro usarlo desde varios hilos.
+ * </p>
+ */
+@Component
+public class TranscriptRenderer {
+
+    public record Line(String course, LocalDate year, Double mark, LocalDate evaluationDate) {}
+
+    public record Transcript(String studentName, UUID studentNumber, List<Line> lines) {}
+
+    private static final int LINES_PER_PAGE = 40;
+    private static final int FIRST_PAGE_OBJECT = 5;
+
+    private static final byte[] HEADER = latin1("%PDF-1.4\n%âãÏÓ\n");
+    private static final byte[] CATALOG = latin1("1 0 obj\n<< /Type /Catalog /Pages 2 0 R >>\nendobj\n");
+    private static final byte[] FONT_REGULAR = latin1(
+            "3 0 obj\n<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica /Encoding /WinAnsiEncoding >>\nendobj\n");
+    private static final byte[] FONT_BOLD = latin1(
+            "4 0 obj\n<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica-Bold /Encoding /WinAnsiEncoding >>\nendobj\n");
+    private static final String PAGE_RESOURCES =
+            "/Parent 2 0 R /MediaBox [0 0 595 842] /Resources << /Font << /F1 3 0 R /F2 4 0 R >> >>";
+
+    public byte[] render(Transcript transcript) {
+        List<List<Line>> pages = new ArrayList<>();
+        List<Line> lines = transcript.lines();
+        for (int i = 0; i < lines.size() || i == 0; i += LINES_PER_PAGE) {
+            pages.add(lines.subList(i, Math.min(i + LINES_PER_PAGE, lines.size())));
+        }
+
+        PdfBuffer pdf = new PdfBuffer(4096 + lines.size() * 96);
+        long[] offsets = new long[FIRST_PAGE_OBJECT + pages.size() * 2];
+
+        pdf.writeBytes(HEADER);
+        offsets[1] = pdf.size();
+        pdf.writeBytes(CATALOG);
+
+        offsets[2] = pdf.size();
+        StringBuilder kids = new StringBuilder();
+        for (int p = 0; p < pages.size(); p++) {
+            kids.append(FIRST_PAGE_OBJECT + p * 2).append(" 0 R ");
+        }
+        pdf.text("2 0 obj\n<< /Type /Pages /Kids [" + kids + "] /Count " + pages.size() + " >>\nendobj\n");
+
+        offsets[3] = pdf.size();
+        pdf.writeBytes(FONT_REGULAR);
+        offsets[4] = pdf.size();
+        pdf.writeBytes(FONT_BOLD);
+
+        for (int p = 0; p < pages.size(); p++) {
+            int pageObj = FIRST_PAGE_OBJECT + p * 2;
+            byte[] content = latin1(pageContent(transcript, pages.get(p), p, pages.size()));
+
+            offsets[pageObj] = pdf.size();
+            pdf.text(pageObj + " 0 obj\n<< /Type /Page " + PAGE_RESOURCES
+                     + " /Contents " + (pageObj + 1) + " 0 R >>\nendobj\n");
+
+            offsets[pageObj + 1] = pdf.size();
+            pdf.text((pageObj + 1) + " 0 obj\n<< /Length " + content.length + " >>\nstream\n");
+            pdf.writeBytes(content);
+            pdf.text("\nendstream\nendobj\n");
+        }
+
+        long xref = pdf.size();
+        StringBuilder sb = new StringBuilder("xref\n0 ").append(offsets.length).append('\n')
+                .append("0000000000 65535 f \n");
+        for (int i = 1; i < offsets.length; i++) {
+            sb.append(String.format(Locale.ROOT, "%010d 00000 n \n", offsets[i]));
+        }
+        sb.append("trailer\n<< /Size ").append(offsets.length).append(" /Root 1 0 R >>\n")
+          .append("startxref\n").append(xref).append("\n%%EOF\n");
+        pdf.text(sb.toString());
+        return pdf.toByteArray();
+    }
+
+    private static String pageContent(Transcript t, List<Line> lines, int page, int pageCount) {
+        StringBuilder c = new StringBuilder(256 + lines.size() * 96);
+        int y = 790;
+        if (page == 0) {
+            text(c, "F2", 16, 50, y, "Constancia de calificaciones");
+            y -= 28;
+            text(c, "F1", 11, 50, y, "Alumno: " + t.studentName());
+            y -= 16;
+            text(c, "F1", 11, 50, y, "Matrícula: " + (t.studentNumber() != null ? t.studentNumber() : "-"));
+            y -= 16;
+            text(c, "F1", 11, 50, y, "Emitida: " + LocalDate.now());
+            y -= 28;
+        }
+
+        text(c, "F2", 10, 50, y, "Curso");
+        text(c, "F2", 10, 330, y, "Año");
+        text(c, "F2", 10, 400, y, "Nota");
+        text(c, "F2", 10, 460, y, "Evaluación");
+        y -= 16;
+
+        for (Line l : lines) {
+            text(c, "F1", 10, 50, y, truncate(l.course(), 48));
+            text(c, "F1", 10, 330, y, l.year() != null ? String.valueOf(l.year().getYear()) : "-");
+            text(c, "F1", 10, 400, y, l.mark() != null ? String.format(Locale.ROOT, "%.2f", l.mark()) : "-");
+            text(c, "F1", 10, 460, y, l.evaluationDate() != null ? l.evaluationDate().toString() : "-");
+            y -= 16;
+        }
+
+        if (page == pageCount - 1) {
+            double sum = 0;
+            int graded = 0;
+            for (Line l : t.lines()) {
+                if (l.mark() != null) { sum += l.mark(); graded++; }
+            }
+            y -= 12;
+            text(c, "F2", 11, 50, y, "Promedio (cursos calificados): "
+                    + (graded > 0 ? String.format(Locale.ROOT, "%.2f", sum / graded) : "-"));
+        }
+        text(c, "F1", 8, 50, 40, "Página " + (page + 1) + " de " + pageCount);
+        return c.toString();
+    }
+
+    private static void text(StringBuilder c, String font, int size, int x, int y, String value) {
+        c.append("BT /").append(font).append(' ').append(size).append(" Tf ")
+         .append(x).append(' ').append(y).append(" Td (").append(escape(value)).append(") Tj ET\n");
+    }
+
+    private static String escape(String value) {
+        if (value == null) return "";
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == '(' || ch == ')' || ch == '\\') sb.append('\\');
+            sb.append(ch < 0x20 || ch > 0xFF ? '?' : ch);
+        }
+        return sb.toString();
+    }
+
+    private static String truncate(String value, int max) {
+        if (value == null) return "";
+        return value.length() <= max ? value : value.substring(0, max - 3) + "...";
+    }
+
+    private static byte[] latin1(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /* ByteArrayOutputStream que expone la posición actual para la tabla xref. */
+    private static final class PdfBuffer extends ByteArrayOutputStream {
+        PdfBuffer(int size) { super(size); }
+
+        void text(String value) { writeBytes(latin1(value)); }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.app.base.service;
+
+import com.example.app.base.domain.Seat;
+import com.example.app.base.repository.SeatRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Constancias de calificaciones: individual para el alumno y en lote para el administrador.
+ * <p>
+ * El lote ("todos los alumnos del año X") carga los datos por tandas de {@value #CHUNK} alumnos con una consulta
+ * {@code IN}, renderiza cada tanda en un pool acotado y va escribiendo el zip en orden a medida que terminan los
+ * documentos, así la memoria no depende de la cantidad de alumnos. Al terminar registra el throughput en el log.
+ * </p>
+ */
+@Service
+public class TranscriptService {
+
+    private static final Logger log = LoggerFactory.getLogger(TranscriptService.class);
+
+    private static final int CHUNK = 200;
+
+    private final SeatRepository seatRepo;
+    private final TranscriptRenderer renderer;
+    private final ExecutorService pool;
+
+    public TranscriptService(SeatRepository seatRepo,
+                             TranscriptRenderer renderer,
+                             @Value("${app.transcripts.threads:0}") int threads) {
+        this.seatRepo = seatRepo;
+        this.renderer = renderer;
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger n = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, "transcripts-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Constancia a partir de las inscripciones de un alumno (todas del mismo alumno, al menos una). */
+    public byte[] render(List<Seat> seats) {
+        var student = seats.get(0).getStudent();
+        List<TranscriptRenderer.Line> lines = seats.stream()
+                .sorted(Comparator.comparing(Seat::getYear, Comparator.nullsLast(Comparator.naturalOrder()))
+                                  .thenComparing(s -> s.getCourse().getName()))
+                .map(s -> new TranscriptRenderer.Line(s.getCourse().getName(), s.getYear(),
+                                                      s.getMark(), s.getEvaluationDate()))
+                .toList();
+        return renderer.render(new TranscriptRenderer.Transcript(student.getName(),
+                                                                 student.getStudentNumber(), lines));
+    }
+
+    /** Escribe en {@code out} un zip con la constancia de cada alumno inscripto en {@code year}; devuelve cuántas. */
+    public int writeYearZip(int year, OutputStream out) throws IOException {
+        long start = System.nanoTime();
+        LocalDate from = LocalDate.of(year, 1, 1);
+        List<Long> studentIds = seatRepo.findStudentIdsByYearBetween(from, from.plusYears(1));
+
+        ZipOutputStream zip = new ZipOutputStream(out);
+        int written = 0;
+        for (int i = 0; i < studentIds.size(); i += CHUNK) {
+            List<Long> chunk = studentIds.subList(i, Math.min(i + CHUNK, studentIds.size()));
+
+            Map<Long, List<SeatRepository.TranscriptRow>> byStudent = new LinkedHashMap<>();
+            for (SeatRepository.TranscriptRow r : seatRepo.findTranscriptRows(chunk)) {
+                byStudent.computeIfAbsent(r.getStudentId(), k -> new ArrayList<>()).add(r);
+            }
+
+            List<Future<byte[]>> rendered = new ArrayList<>(byStudent.size());
+            List<String> names = new ArrayList<>(byStudent.size());
+            for (List<SeatRepository.TranscriptRow> rows : byStudent.values()) {
+                TranscriptRenderer.Transcript t = toTranscript(rows);
+                names.add("constancia-" + (t.studentNumber() != null ? t.studentNumber()
+                                                                     : rows.get(0).getStudentId()) + ".pdf");
+                rendered.add(pool.submit(() -> renderer.render(t)));
+            }
+
+            try {
+                for (int k = 0; k < rendered.size(); k++) {
+                    byte[] pdf = await(rendered.get(k));
+                    zip.putNextEntry(new ZipEntry(names.get(k)));
+                    zip.write(pdf);
+                    zip.closeEntry();
+                    written++;
+                }
+            } finally {
+                rendered.forEach(f -> f.cancel(true));
+            }
+            zip.flush();
+        }
+        zip.finish();
+
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        log.info("Constancias {}: {} en {} ms ({} por segundo)", year, written, millis, written * 1000L / millis);
+        return written;
+    }
+
+    private static TranscriptRenderer.Transcript toTranscript(List<SeatRepository.TranscriptRow> rows) {
+        SeatRepository.TranscriptRow first = rows.get(0);
+        List<TranscriptRenderer.Line> lines = rows.stream()
+                .map(r -> new TranscriptRenderer.Line(r.getCourseName(), r.getYear(),
+                                                      r.getMark(), r.getEvaluationDate()))
+                .toList();
+        return new TranscriptRenderer.Transcript(first.getStudentName(), first.getStudentNumber(), lines);
+    }
+
+    private static byte[] await(Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Generación de constancias interrumpida");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof UncheckedIOException io) throw io.getCause();
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+}
@@ -3,7 +3,8 @@ package com.example.app.base.service;
 import com.example.app.base.domain.User;
 import com.example.app.base.repository.UserRepository;
 import com.example.app.security.AppRoles;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import com.example.app.security.PasswordHashingService;
+import com.example.app.security.UserCache;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -13,11 +14,13 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository repo;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService hashing;
+    private final UserCache userCache;
 
-    public UserService(UserRepository repo, PasswordEncoder encoder) {
+    public UserService(UserRepository repo, PasswordHashingService hashing, UserCache userCache) {
         this.repo = repo;
-        this.encoder = encoder;
+        this.hashing = hashing;
+        this.userCache = userCache;
     }
 
     public Optional<User> findByUsername(String username){
@@ -26,15 +29,25 @@ public class UserService {
 
     public List<User> findAll()                 { return repo.findAll(); }
     public Optional<User> findById(Long id)     { return repo.findById(id); }
-    public User save(User user)                 { return repo.save(user); }
-    public void deleteById(Long id)             { repo.deleteById(id); }
+
+    public User save(User user) {
+        if (user.getId() != null) userCache.invalidateById(user.getId());
+        User saved = repo.save(user);
+        userCache.invalidate(saved.getUsername());
+        return saved;
+    }
+
+    public void deleteById(Long id) {
+        repo.deleteById(id);
+        userCache.invalidateById(id);
+    }
 
     public boolean existsByUsername(String username){
         return repo.findByUsername(username).isPresent();
     }
 
     public User createAdmin(String username, String rawPassword){
-        var user = new User(username, encoder.encode(rawPassword), AppRoles.ADMIN);
-        return repo.save(user);
+        var user = new User(username, hashing.encode(rawPassword), AppRoles.ADMIN);
+        return save(user);
     }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.example.app.base.ui.component;
+
+import com.example.app.base.service.AccountCsvImporter;
+
+import java.util.concurrent.Executor;
+
+/** Alta masiva de alumnos o profesores desde CSV ({@link AccountCsvImporter}). */
+public class AccountImportDialog extends CsvImportDialog<AccountCsvImporter.Result> {
+
+    public AccountImportDialog(AccountCsvImporter.Kind kind,
+                               AccountCsvImporter importer,
+                               Executor executor,
+                               Runnable onDone) {
+        super(kind == AccountCsvImporter.Kind.STUDENT ? "Importar alumnos" : "Importar profesores",
+              "Archivo CSV con columnas: nombre, email, teléfono, usuario, contraseña, calle, ciudad, provincia, país"
+                      + (kind == AccountCsvImporter.Kind.STUDENT ? "" : ", sueldo")
+                      + ". El domicilio va completo o vacío; sin contraseña se usa el usuario.",
+              (in, progress) -> importer.importCsv(kind, in, progress),
+              AccountImportDialog::describe,
+              executor,
+              onDone);
+    }
+
+    private static String describe(AccountCsvImporter.Result r) {
+        return "Leídas: " + r.read()
+             + " · Creadas: " + r.created()
+             + " · Usuario o email repetido: " + r.duplicates()
+             + " · Inválidas: " + r.invalid();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.app.base.ui.component;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.dialog.Dialog;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.orderedlayout.FlexComponent;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.progressbar.ProgressBar;
+import com.vaadin.flow.component.upload.Upload;
+import com.vaadin.flow.component.upload.receivers.FileBuffer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Diálogo de importación desde un CSV subido, compartido por las vistas de administración.
+ * <p>
+ * La importación corre en {@code executor} (el de Spring: hilos virtuales con {@code spring.threads.virtual.enabled},
+ * no el ForkJoinPool común) e informa cada resultado parcial con {@code describe}; los cambios llegan al navegador
+ * por {@code @Push}. {@code onDone} se ejecuta en la UI al terminar bien. El archivo subido se borra apenas termina la
+ * importación, haya salido bien o no: puede traer contraseñas en claro.
+ * </p>
+ */
+public class CsvImportDialog<R> extends Dialog {
+
+    /** La importación en sí: lee el CSV e informa el resultado acumulado al terminar cada lote. */
+    @FunctionalInterface
+    public interface Importer<R> {
+        R importCsv(InputStream in, Consumer<R> progress) throws IOException;
+    }
+
+    public CsvImportDialog(String title,
+                           String helpText,
+                           Importer<R> importer,
+                           Function<R, String> describe,
+                           Executor executor,
+                           Runnable onDone) {
+        setHeaderTitle(title);
+        setWidth("560px");
+
+        Span help = new Span(helpText);
+        ProgressBar progress = new ProgressBar();
+        progress.setIndeterminate(true);
+        progress.setVisible(false);
+        Span status = new Span();
+
+        FileBuffer buffer = new FileBuffer();
+        Upload upload = new Upload(buffer);
+        upload.setAcceptedFileTypes(".csv", "text/csv");
+        upload.setMaxFiles(1);
+        upload.addSucceededListener(ev -> {
+            UI ui = UI.getCurrent();
+            progress.setVisible(true);
+
+            CompletableFuture.runAsync(() -> {
+                try (InputStream in = buffer.getInputStream()) {
+                    R result = importer.importCsv(in,
+                            partial -> ui.access(() -> status.setText(describe.apply(partial))));
+                    ui.access(() -> {
+                        status.setText(describe.apply(result));
+                        onDone.run();
+                    });
+                } catch (Exception ex) {
+                    ui.access(() -> status.setText("Error al importar: " + ex.getMessage()));
+                } finally {
+                    deleteUpload(buffer);
+                    ui.access(() -> progress.setVisible(false));
+                }
+            }, executor);
+        });
+        upload.addFailedListener(ev -> deleteUpload(buffer));
+
+        Button close = new Button("Cerrar", e -> close());
+        HorizontalLayout actions = new HorizontalLayout(close);
+        actions.setWidthFull();
+        actions.setJustifyContentMode(FlexComponent.JustifyContentMode.END);
+
+        add(new VerticalLayout(help, upload, progress, status, actions));
+    }
+
+    /* FileBuffer deja el archivo en el directorio temporal; si no se puede borrar ahora, al salir de la JVM. */
+    private static void deleteUpload(FileBuffer buffer) {
+        if (buffer.getFileData() == null) return;
+        File file = buffer.getFileData().getFile();
+        if (!file.delete() && file.exists()) file.deleteOnExit();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.app.base.ui.component;
+
+import com.vaadin.flow.data.provider.CallbackDataProvider;
+import com.vaadin.flow.data.provider.Query;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Adapta una consulta por clave ("seguir después de la clave") a los pedidos offset/limit de una {@code Grid}.
+ * <p>
+ * Se recuerda la clave de la última fila de cada página leída, indexada por offset, así el scroll secuencial siempre
+ * sigue desde la página anterior en lugar de hacer que la base salte {@code OFFSET} filas. Un salto de hasta
+ * {@value #MAX_SKIP} filas desde el cursor conocido más cercano se resuelve con una sola consulta por clave que
+ * descarta las filas intermedias; un salto más largo usa la consulta paginada ({@code pages}, en el mismo orden), que
+ * cuesta lo mismo que un {@code OFFSET} y no traslada las filas salteadas. Se guardan a lo sumo
+ * {@value #MAX_CURSORS} cursores. Sólo admite el orden natural de la consulta; llamar a {@link #reset()} antes de
+ * refrescar la grilla cuando cambian los datos.
+ * </p>
+ */
+public final class KeysetFetchCallback<T, K> implements CallbackDataProvider.FetchCallback<T, Void> {
+
+    @FunctionalInterface
+    public interface Seek<T, K> {
+        List<T> fetch(@Nullable K after, int limit);
+    }
+
+    private static final int MAX_SKIP = 500;
+    private static final int MAX_CURSORS = 1_000;
+
+    private final Seek<T, K> seek;
+    private final Function<Pageable, List<T>> pages;
+    private final Function<T, K> keyOf;
+    private final NavigableMap<Integer, K> cursors = new TreeMap<>();
+
+    public KeysetFetchCallback(Seek<T, K> seek, Function<Pageable, List<T>> pages, Function<T, K> keyOf) {
+        this.seek = seek;
+        this.pages = pages;
+        this.keyOf = keyOf;
+    }
+
+    @Override
+    public Stream<T> fetch(Query<T, Void> query) {
+        int offset = query.getOffset();
+        int limit = query.getLimit();
+        if (limit == 0) return Stream.empty();
+
+        Map.Entry<Integer, K> start = cursors.floorEntry(offset);
+        int position = start == null ? 0 : start.getKey();
+        K after = start == null ? null : start.getValue();
+        int skip = offset - position;
+
+        List<T> page;
+        if (skip > MAX_SKIP) {
+            page = fetchByOffset(offset, limit);
+        } else {
+            List<T> rows = seek.fetch(after, skip + limit);
+            page = rows.size() <= skip ? List.of() : rows.subList(skip, rows.size());
+        }
+
+        if (!page.isEmpty()) {
+            remember(offset + page.size(), keyOf.apply(page.get(page.size() - 1)));
+        }
+        return page.stream();
+    }
+
+    public void reset() {
+        cursors.clear();
+    }
+
+    /* Las páginas de Spring Data van alineadas a su tamaño: un offset desalineado pide a lo sumo dos. */
+    private List<T> fetchByOffset(int offset, int limit) {
+        int first = offset / limit, last = (offset + limit - 1) / limit;
+        List<T> rows = new ArrayList<>(limit * (last - first + 1));
+        for (int p = first; p <= last; p++) {
+            List<T> part = pages.apply(PageRequest.of(p, limit));
+            rows.addAll(part);
+            if (part.size() < limit) break;
+        }
+        int from = Math.min(offset - first * limit, rows.size());
+        return rows.subList(from, Math.min(from + limit, rows.size()));
+    }
+
+    /* Al pasar el tope se descarta el cursor más alejado del recién guardado. */
+    private void remember(int position, K key) {
+        cursors.put(position, key);
+        if (cursors.size() > MAX_CURSORS) {
+            int first = cursors.firstKey(), last = cursors.lastKey();
+            cursors.remove(position - first > last - position ? first : last);
+        }
+    }
+}
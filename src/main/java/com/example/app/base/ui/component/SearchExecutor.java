@@ -0,0 +1,54 @@
+package com.example.app.base.ui.component;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool acotado donde {@link SearchField} ejecuta las búsquedas fuera del hilo de la UI.
+ * <p>
+ * Con la cola llena la búsqueda se ejecuta en el hilo que la pidió: se frena a quien más escribe en lugar de
+ * descartar búsquedas.
+ * </p>
+ */
+@Component
+public class SearchExecutor implements Executor {
+
+    private final ThreadPoolExecutor pool;
+
+    public SearchExecutor(@Value("${app.search.threads:4}") int threads,
+                          @Value("${app.search.queue:200}") int queue,
+                          @Value("${spring.threads.virtual.enabled:false}") boolean virtual) {
+        AtomicInteger n = new AtomicInteger();
+        // Con hilos virtuales la espera en JDBC no ocupa un hilo de plataforma; la cantidad sigue acotada
+        // para no acaparar el pool de conexiones.
+        ThreadFactory factory = virtual
+                ? Thread.ofVirtual().name("search-", 1).factory()
+                : r -> {
+                    Thread t = new Thread(r, "search-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                };
+        this.pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queue), factory,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        pool.execute(command);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
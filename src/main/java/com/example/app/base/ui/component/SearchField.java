@@ -0,0 +1,161 @@
+package com.example.app.base.ui.component;
+
+import com.vaadin.flow.component.Composite;
+import com.vaadin.flow.component.HasSize;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.notification.Notification;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Campo de búsqueda que consulta en segundo plano, descarta búsquedas superadas y recuerda resultados por término.
+ * <p>
+ * En modo {@link Mode#LAZY} el navegador sólo avisa cuando el usuario deja de escribir por {@code timeout} ms, así
+ * que escribir una palabra completa dispara una búsqueda en vez de una por tecla. La búsqueda corre en el
+ * {@link Executor} recibido; si llega un término nuevo, la anterior se cancela (si todavía no empezó no llega a
+ * ejecutarse, y si ya empezó su resultado se ignora). Los resultados quedan en una caché LRU por término y por
+ * campo; la vista llama a {@link #refresh()} cuando cambian los datos. Con el término vacío se invoca
+ * {@code onClear} para volver al listado completo.
+ * </p>
+ * <p>
+ * Las grillas paginadas usan el constructor que sólo recibe el término: el campo no busca ni guarda nada, y la vista
+ * vuelve a armar su callback perezoso con el término vigente, así la grilla sigue recorriendo todas las coincidencias
+ * por páginas en lugar de recibir una lista cortada.
+ * </p>
+ * Requiere {@code @Push} para que los resultados lleguen sin interacción del usuario.
+ */
+public class SearchField<T> extends Composite<TextField> implements HasSize {
+
+    public enum Mode { LAZY, EAGER }
+
+    public static final int DEFAULT_TIMEOUT = 350;
+    private static final int CACHE_SIZE = 32;
+
+    private final Executor executor;
+    private final Function<String, List<T>> search;
+    private final Consumer<List<T>> onResults;
+    private final Runnable onClear;
+    private final Consumer<String> onTerm;
+
+    private final Map<String, List<T>> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, List<T>> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    // Sólo se tocan con el lock de la sesión (listeners de la UI y ui.access)
+    private String current = "";
+    private CompletableFuture<List<T>> inFlight;
+
+    public SearchField(String placeholder,
+                       Executor executor,
+                       Function<String, List<T>> search,
+                       Consumer<List<T>> onResults,
+                       Runnable onClear) {
+        this(placeholder, executor, search, onResults, onClear, null);
+    }
+
+    /** Sólo avisa el término normalizado ({@code ""} sin búsqueda); la vista consulta por su cuenta. */
+    public SearchField(String placeholder, Consumer<String> onTerm) {
+        this(placeholder, null, null, null, null, onTerm);
+    }
+
+    private SearchField(String placeholder,
+                        Executor executor,
+                        Function<String, List<T>> search,
+                        Consumer<List<T>> onResults,
+                        Runnable onClear,
+                        Consumer<String> onTerm) {
+        this.executor  = executor;
+        this.search    = search;
+        this.onResults = onResults;
+        this.onClear   = onClear;
+        this.onTerm    = onTerm;
+
+        TextField field = getContent();
+        field.setPlaceholder(placeholder);
+        field.setPrefixComponent(VaadinIcon.SEARCH.create());
+        field.setClearButtonVisible(true);
+        setMode(Mode.LAZY);
+        field.addValueChangeListener(e -> onTerm(normalize(e.getValue()), false));
+    }
+
+    public void setMode(Mode mode) {
+        getContent().setValueChangeMode(mode == Mode.LAZY ? ValueChangeMode.LAZY : ValueChangeMode.EAGER);
+        if (mode == Mode.LAZY) getContent().setValueChangeTimeout(DEFAULT_TIMEOUT);
+    }
+
+    public void setTimeout(int millis) {
+        getContent().setValueChangeTimeout(millis);
+    }
+
+    /** Término vigente, normalizado; vacío si no hay búsqueda. */
+    public String getValue() {
+        return current;
+    }
+
+    public boolean isSearching() {
+        return !current.isEmpty();
+    }
+
+    /** Olvida los resultados guardados y repite la búsqueda vigente (o {@code onClear} si no hay). */
+    public void refresh() {
+        cache.clear();
+        onTerm(current, true);
+    }
+
+    private void onTerm(String term, boolean force) {
+        if (!force && term.equals(current)) return;
+        current = term;
+        if (onTerm != null) {
+            onTerm.accept(term);
+            return;
+        }
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+
+        if (term.isEmpty()) {
+            onClear.run();
+            return;
+        }
+        List<T> cached = cache.get(term);
+        if (cached != null) {
+            onResults.accept(cached);
+            return;
+        }
+
+        UI ui = UI.getCurrent();
+        CompletableFuture<List<T>> future = CompletableFuture.supplyAsync(() -> search.apply(term), executor);
+        inFlight = future;
+        future.whenComplete((results, error) -> {
+            if (future.isCancelled()) return;
+            ui.access(() -> {
+                if (inFlight != future) return;
+                inFlight = null;
+                if (error != null) {
+                    Notification.show("No se pudo completar la búsqueda", 3000, Notification.Position.MIDDLE);
+                    return;
+                }
+                cache.put(term, results);
+                onResults.accept(results);
+            });
+        });
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.app.base.ui.component;
+
+import com.example.app.base.service.SeatChangedEvent;
+import com.vaadin.flow.shared.Registration;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Reparte los {@link SeatChangedEvent} confirmados entre las vistas abiertas, por curso.
+ * <p>
+ * Las vistas se registran con el id del curso que muestran y reciben sólo los cambios de ese curso; el listener
+ * debe aplicar el cambio dentro de {@code ui.access(...)} y la app usa {@code @Push} para que llegue al navegador sin
+ * que el usuario haga nada. La entrega es asíncrona para no demorar al hilo que confirmó la transacción. Todas las
+ * vistas comparten un único hilo de entrega: los listeners consultan la base antes de {@code ui.access(...)} y dentro
+ * sólo modifican componentes, para no retener el lock de la sesión durante la E/S.
+ * </p>
+ */
+@Component
+public class SeatBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatBroadcaster.class);
+
+    private final Map<Long, List<Consumer<SeatChangedEvent>>> listeners = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "seat-broadcaster");
+        t.setDaemon(true);
+        return t;
+    });
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public Registration register(Long courseId, Consumer<SeatChangedEvent> listener) {
+        listeners.computeIfAbsent(courseId, k -> new CopyOnWriteArrayList<>()).add(listener);
+        return () -> listeners.computeIfPresent(courseId, (k, list) -> {
+            list.remove(listener);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(SeatChangedEvent event) {
+        List<Consumer<SeatChangedEvent>> targets = listeners.get(event.courseId());
+        if (targets == null) return;
+        for (Consumer<SeatChangedEvent> listener : targets) {
+            executor.execute(() -> {
+                try {
+                    listener.accept(event);
+                } catch (RuntimeException ex) {
+                    // p. ej. UIDetachedException si la vista se cerró mientras tanto
+                    log.debug("No se pudo notificar {}", event, ex);
+                }
+            });
+        }
+    }
+}
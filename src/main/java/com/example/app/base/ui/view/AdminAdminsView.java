@@ -2,9 +2,15 @@ package com.example.app.base.ui.view;
 
 import com.example.app.base.domain.Administrator;
 import com.example.app.base.domain.User;
+import com.example.app.base.query.AdministratorListItem;
+import com.example.app.base.query.AdministratorQueryService;
 import com.example.app.base.service.AdministratorService;
 import com.example.app.base.service.UserService;
+import com.example.app.base.ui.component.SearchExecutor;
+import com.example.app.base.ui.component.SearchField;
 import com.example.app.security.AppRoles;
+import com.example.app.security.PasswordHashingService;
+import com.example.app.security.SessionUser;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -23,7 +29,6 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
 import jakarta.annotation.security.RolesAllowed;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @RolesAllowed("ADMIN")
 @PageTitle("Administradores")
@@ -32,21 +37,29 @@ public class AdminAdminsView extends VerticalLayout {
 
     private final UserService          userService;
     private final AdministratorService adminService;
-    private final PasswordEncoder      encoder;
+    private final AdministratorQueryService adminQueries;
+    private final PasswordHashingService hashing;
 
-    private final Grid<Administrator> grid   = new Grid<>(Administrator.class, false);
-    private final TextField           filter = new TextField();
+    private final Grid<AdministratorListItem> grid = new Grid<>();
+    private final SearchField<AdministratorListItem> filter;
 
     public AdminAdminsView(UserService userService,
                            AdministratorService adminService,
-                           PasswordEncoder encoder) {
+                           AdministratorQueryService adminQueries,
+                           PasswordHashingService hashing,
+                           SearchExecutor searchExecutor) {
         this.userService  = userService;
         this.adminService = adminService;
-        this.encoder      = encoder;
+        this.adminQueries = adminQueries;
+        this.hashing      = hashing;
+        this.filter       = new SearchField<>("Buscar admin…", searchExecutor,
+                                              adminQueries::search,
+                                              items -> grid.setItems(items),
+                                              () -> grid.setItems(adminQueries.search("")));
 
         
-        User u = VaadinSession.getCurrent().getAttribute(User.class);
-        if (u == null || u.getRole() != AppRoles.ADMIN) {
+        SessionUser u = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (u == null || u.role() != AppRoles.ADMIN) {
             UI.getCurrent().navigate("login");
             return;
         }
@@ -55,7 +68,7 @@ public class AdminAdminsView extends VerticalLayout {
         buildHeader();
         configureGrid();
         add(grid);
-        applyFilter("");
+        filter.refresh();
     }
 
    
@@ -73,11 +86,6 @@ public class AdminAdminsView extends VerticalLayout {
                 e -> openEditor(new Administrator(), true));
         addBtn.setIconAfterText(false);
 
-        filter.setPlaceholder("Buscar admin…");
-        filter.setPrefixComponent(VaadinIcon.SEARCH.create());
-        filter.setClearButtonVisible(true);
-        filter.addValueChangeListener(e -> applyFilter(e.getValue()));
-
         HorizontalLayout header = new HorizontalLayout(title, filter, addBtn);
         header.setDefaultVerticalComponentAlignment(Alignment.CENTER);
         header.expand(title);
@@ -85,17 +93,17 @@ public class AdminAdminsView extends VerticalLayout {
     }
 
     private void configureGrid() {
-        grid.addColumn(a -> a.getUser().getId())
+        grid.addColumn(AdministratorListItem::userId)
             .setHeader("ID").setWidth("70px");
-        grid.addColumn(a -> a.getUser().getUsername())
+        grid.addColumn(AdministratorListItem::username)
             .setHeader("Usuario").setAutoWidth(true);
-        grid.addColumn(Administrator::getName).setHeader("Nombre");
-        grid.addColumn(Administrator::getEmail).setHeader("Email");
+        grid.addColumn(AdministratorListItem::name).setHeader("Nombre");
+        grid.addColumn(AdministratorListItem::email).setHeader("Email");
 
         grid.addComponentColumn(admin -> {
             Button trash = new Button(VaadinIcon.TRASH.create(), click -> {
-                adminService.deleteById(admin.getId());
-                applyFilter(filter.getValue());
+                adminService.deleteById(admin.id());
+                filter.refresh();
                 Notification.show("Administrador eliminado");
             });
             trash.addThemeVariants(ButtonVariant.LUMO_ERROR);
@@ -103,14 +111,10 @@ public class AdminAdminsView extends VerticalLayout {
         }).setWidth("80px").setFlexGrow(0);
 
         grid.setSizeFull();
-        grid.addItemDoubleClickListener(ev -> openEditor(ev.getItem(), false));
+        grid.addItemDoubleClickListener(ev -> adminService.findWithUserById(ev.getItem().id())
+                                                          .ifPresent(a -> openEditor(a, false)));
     }
 
-    private void applyFilter(String term) {
-        grid.setItems(term == null || term.isBlank()
-            ? adminService.findAll()
-            : adminService.search(term));
-    }
 
     
 
@@ -153,36 +157,40 @@ public class AdminAdminsView extends VerticalLayout {
         binder.readBean(admin);
 
         Button save = new Button("Guardar", e -> {
-            if (binder.writeBeanIfValid(admin)) {
+            if (!binder.writeBeanIfValid(admin)) return;
+            if (isNew && userService.existsByUsername(usern.getValue())) {
+                usern.setInvalid(true);
+                usern.setErrorMessage("Usuario ya existe");
+                return;
+            }
+
+            // Alta sin contraseña: se usa el nombre de usuario
+            String raw = isNew && pass.getValue().isBlank() ? usern.getValue() : pass.getValue();
+            Button btn = e.getSource();
+            btn.setEnabled(false);
+            UI ui = UI.getCurrent();
+            hashing.encodeIfPresent(raw).whenComplete((hash, error) -> ui.access(() -> {
+                btn.setEnabled(true);
+                if (error != null) {
+                    Notification.show(PasswordHashingService.describe(error),
+                                      4000, Notification.Position.MIDDLE);
+                    return;
+                }
 
-                User user;
                 if (isNew) {
-                    if (userService.existsByUsername(usern.getValue())) {
-                        usern.setInvalid(true);
-                        usern.setErrorMessage("Usuario ya existe");
-                        return;
-                    }
-                    user = new User(
-                            usern.getValue(),
-                            encoder.encode(pass.getValue().isBlank()
-                                           ? usern.getValue()
-                                           : pass.getValue()),
-                            AppRoles.ADMIN
-                    );
+                    User user = new User(usern.getValue(), hash, AppRoles.ADMIN);
                     userService.save(user);
                     admin.setUser(user);
-                } else {
-                    user = admin.getUser();
-                    if (!pass.getValue().isBlank()) {
-                        user.setPassword(encoder.encode(pass.getValue()));
-                        userService.save(user);
-                    }
+                } else if (hash != null) {
+                    User user = admin.getUser();
+                    user.setPassword(hash);
+                    userService.save(user);
                 }
 
                 adminService.save(admin);
-                applyFilter(filter.getValue());
+                filter.refresh();
                 dialog.close();
-            }
+            }));
         });
         Button cancel = new Button("Cerrar", e -> dialog.close());
         cancel.addThemeVariants(ButtonVariant.LUMO_TERTIARY);
@@ -1,8 +1,14 @@
 package com.example.app.base.ui.view;
 
 import com.example.app.base.domain.*;
+import com.example.app.base.query.CourseListItem;
+import com.example.app.base.query.CourseQueryService;
+import com.example.app.base.query.SeatListItem;
+import com.example.app.base.query.SeatQueryService;
 import com.example.app.base.service.*;
 import com.example.app.security.AppRoles;
+import com.example.app.security.SessionUser;
+import com.example.app.base.ui.component.SearchField;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.combobox.ComboBox;
@@ -25,6 +31,11 @@ import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
 import jakarta.annotation.security.RolesAllowed;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.vaadin.flow.spring.data.VaadinSpringDataHelpers.toSpringPageRequest;
 
 @RolesAllowed("ADMIN")
 @PageTitle("Cursos")
@@ -34,21 +45,33 @@ public class AdminCoursesView extends VerticalLayout {
     private final CourseService    courseService;
     private final ProfessorService profService;
     private final SeatService      seatService;
+    private final CourseStatsService courseStats;
+    private final CourseQueryService courseQueries;
+    private final SeatQueryService seatQueries;
 
-    private final Grid<Course> grid   = new Grid<>(Course.class, false);
-    private final TextField    filter = new TextField();
+    private final Grid<CourseListItem> grid = new Grid<>();
+    private final SearchField<CourseListItem> filter;
+    // Inscriptos de los cursos ya mostrados; se completa por página
+    private final Map<Long, Long> enrolled = new ConcurrentHashMap<>();
 
     public AdminCoursesView(CourseService courseService,
                             ProfessorService profService,
-                            SeatService seatService) {
+                            SeatService seatService,
+                            CourseStatsService courseStats,
+                            CourseQueryService courseQueries,
+                            SeatQueryService seatQueries) {
 
         this.courseService = courseService;
         this.profService   = profService;
         this.seatService   = seatService;
+        this.courseStats   = courseStats;
+        this.courseQueries = courseQueries;
+        this.seatQueries   = seatQueries;
+        this.filter = new SearchField<>("Buscar curso…", this::showMatching);
 
      
-        User u = VaadinSession.getCurrent().getAttribute(User.class);
-        if (u == null || u.getRole() != AppRoles.ADMIN) {
+        SessionUser u = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (u == null || u.role() != AppRoles.ADMIN) {
             UI.getCurrent().navigate("login");
             return;
         }
@@ -57,7 +80,6 @@ public class AdminCoursesView extends VerticalLayout {
         buildHeader();
         configureGrid();
         add(grid);
-        applyFilter("");
     }
 
     
@@ -69,11 +91,6 @@ public class AdminCoursesView extends VerticalLayout {
         HorizontalLayout title = new HorizontalLayout(bookIcon, titleLbl);
         title.setAlignItems(Alignment.CENTER);
 
-        filter.setPlaceholder("Buscar curso…");
-        filter.setPrefixComponent(VaadinIcon.SEARCH.create());
-        filter.setClearButtonVisible(true);
-        filter.addValueChangeListener(e -> applyFilter(e.getValue()));
-
         Icon plus = VaadinIcon.PLUS_CIRCLE.create();
         Button addBtn = new Button("Nuevo Curso", plus,
                 e -> openEditor(new Course()));
@@ -88,11 +105,13 @@ public class AdminCoursesView extends VerticalLayout {
    
 
     private void configureGrid() {
-        grid.addColumn(Course::getId).setHeader("ID").setWidth("70px");
-        grid.addColumn(Course::getName).setHeader("Nombre").setAutoWidth(true);
-        grid.addColumn(c -> c.getProfessor() != null ? c.getProfessor().getName() : "(sin prof.)")
-            .setHeader("Profesor");
-        grid.addColumn(c -> seatService.countByCourseId(c.getId()))
+        grid.addColumn(CourseListItem::id).setHeader("ID").setWidth("70px")
+            .setSortProperty("id");
+        grid.addColumn(CourseListItem::name).setHeader("Nombre").setAutoWidth(true)
+            .setSortProperty("name");
+        grid.addColumn(c -> c.professorName() != null ? c.professorName() : "(sin prof.)")
+            .setHeader("Profesor").setSortProperty("professor.name");
+        grid.addColumn(c -> enrolled.getOrDefault(c.id(), 0L))
             .setHeader("Inscriptos").setWidth("120px");
         grid.addColumn(new ComponentRenderer<>(course -> {
             Icon trash = VaadinIcon.TRASH.create();
@@ -101,14 +120,28 @@ public class AdminCoursesView extends VerticalLayout {
             return trash;
         })).setHeader("").setAutoWidth(true).setFlexGrow(0);
 
+        showMatching("");
         grid.setSizeFull();
-        grid.addItemDoubleClickListener(e -> openSeatsDialog(e.getItem()));
+        grid.addItemDoubleClickListener(e -> courseService.findById(e.getItem().id())
+                                                          .ifPresent(this::openSeatsDialog));
+    }
+
+    private void showMatching(String term) {
+        grid.setItems(query -> withEnrolled(courseQueries
+                .list(term, toSpringPageRequest(query))).stream());
+    }
+
+    /* Una consulta agrupada por página en lugar de un COUNT por fila. */
+    private List<CourseListItem> withEnrolled(List<CourseListItem> page) {
+        courseStats.statsFor(page.stream().map(CourseListItem::id).toList())
+                   .forEach((id, stats) -> enrolled.put(id, stats.enrolled()));
+        page.forEach(c -> enrolled.putIfAbsent(c.id(), 0L));
+        return page;
     }
 
-    private void applyFilter(String term) {
-        grid.setItems(term == null || term.isBlank()
-            ? courseService.findAll()
-            : courseService.search(term));
+    private void refreshGrid() {
+        enrolled.clear();
+        grid.getDataProvider().refreshAll();
     }
 
    
@@ -133,7 +166,7 @@ public class AdminCoursesView extends VerticalLayout {
         Button save = new Button("Guardar", e -> {
             if (binder.writeBeanIfValid(course)) {
                 courseService.save(course);
-                applyFilter(filter.getValue());
+                refreshGrid();
                 dialog.close();
             }
         });
@@ -158,21 +191,22 @@ public class AdminCoursesView extends VerticalLayout {
         Span profLabel = new Span("Profesor: " + profesor);
         profLabel.getStyle().set("font-weight", "600").set("margin-bottom", "var(--lumo-space-s)");
 
-        Grid<Seat> seatsGrid = new Grid<>(Seat.class, false);
-        seatsGrid.addColumn(s -> s.getStudent().getName()).setHeader("Alumno").setAutoWidth(true);
-        seatsGrid.addColumn(s -> s.getMark() != null ? s.getMark() : "-").setHeader("Nota").setWidth("120px");
+        Grid<SeatListItem> seatsGrid = new Grid<>();
+        seatsGrid.addColumn(SeatListItem::studentName).setHeader("Alumno").setAutoWidth(true);
+        seatsGrid.addColumn(s -> s.mark() != null ? s.mark() : "-").setHeader("Nota").setWidth("120px");
         seatsGrid.addColumn(new ComponentRenderer<>(seat -> {
             Icon edit = VaadinIcon.EDIT.create();
             edit.getStyle().set("cursor", "pointer");
-            edit.addClickListener(e -> openEditMarkDialog(seat, seatsGrid));
+            edit.addClickListener(e -> seatService.findById(seat.id())
+                                                  .ifPresent(s -> openEditMarkDialog(s, course, seatsGrid)));
 
             Icon trash = VaadinIcon.TRASH.create();
             trash.getStyle().set("color", "var(--lumo-error-color)").set("cursor", "pointer");
-            trash.addClickListener(e -> confirmDeleteSeat(seat, seatsGrid));
+            trash.addClickListener(e -> confirmDeleteSeat(seat, course, seatsGrid));
             return new HorizontalLayout(edit, trash);
         })).setHeader("Acciones").setAutoWidth(true).setFlexGrow(0);
 
-        seatsGrid.setItems(seatService.findByCourseId(course.getId()));
+        seatsGrid.setItems(seatQueries.byCourse(course.getId()));
         seatsGrid.setSizeFull();
 
         Button editBtn = new Button("Editar curso", e -> { dlg.close(); openEditor(course); });
@@ -191,7 +225,7 @@ public class AdminCoursesView extends VerticalLayout {
         dlg.open();
     }
 
-    private void openEditMarkDialog(Seat seat, Grid<Seat> seatsGrid) {
+    private void openEditMarkDialog(Seat seat, Course course, Grid<SeatListItem> seatsGrid) {
         Dialog d = new Dialog();
         d.setHeaderTitle("Modificar nota");
 
@@ -207,7 +241,7 @@ public class AdminCoursesView extends VerticalLayout {
             seat.setMark(markField.getValue());
             seat.setEvaluationDate(datePicker.getValue());
             seatService.save(seat);
-            seatsGrid.getDataProvider().refreshItem(seat);
+            seatsGrid.setItems(seatQueries.byCourse(course.getId()));
             d.close();
         });
         Button cancel = new Button("Cancelar", e -> d.close());
@@ -218,28 +252,28 @@ public class AdminCoursesView extends VerticalLayout {
 
     
 
-    private void confirmDeleteSeat(Seat seat, Grid<Seat> seatsGrid) {
+    private void confirmDeleteSeat(SeatListItem seat, Course course, Grid<SeatListItem> seatsGrid) {
         ConfirmDialog cd = new ConfirmDialog();
         cd.setHeader("Eliminar inscripción");
-        cd.setText("¿Eliminar a " + seat.getStudent().getName() + " de este curso?");
+        cd.setText("¿Eliminar a " + seat.studentName() + " de este curso?");
         cd.setCancelText("Cancelar");
         cd.setConfirmText("Eliminar");
         cd.addConfirmListener(e -> {
-            seatService.deleteById(seat.getId());
-            seatsGrid.setItems(seatService.findByCourseId(seat.getCourse().getId()));
+            seatService.deleteById(seat.id());
+            seatsGrid.setItems(seatQueries.byCourse(course.getId()));
         });
         cd.open();
     }
 
-    private void confirmDeleteCourse(Course course) {
+    private void confirmDeleteCourse(CourseListItem course) {
         ConfirmDialog cd = new ConfirmDialog();
         cd.setHeader("Eliminar curso");
-        cd.setText("¿Seguro que deseas eliminar “" + course.getName() + "”?");
+        cd.setText("¿Seguro que deseas eliminar “" + course.name() + "”?");
         cd.setCancelText("Cancelar");
         cd.setConfirmText("Eliminar");
         cd.addConfirmListener(e -> {
-            courseService.deleteById(course.getId());
-            applyFilter(filter.getValue());
+            courseService.deleteById(course.id());
+            refreshGrid();
         });
         cd.open();
     }
@@ -0,0 +1,79 @@
+package com.example.app.base.ui.view;
+
+import com.example.app.base.service.DashboardStatsService;
+import com.example.app.security.AppRoles;
+import com.example.app.security.SessionUser;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.icon.Icon;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.orderedlayout.FlexLayout;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.VaadinSession;
+import jakarta.annotation.security.RolesAllowed;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+@RolesAllowed("ADMIN")
+@PageTitle("Resumen")
+@Route(value = "admin/dashboard", layout = MainLayout.class)
+public class AdminDashboardView extends VerticalLayout {
+
+    private static final DateTimeFormatter TIME =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm").withZone(ZoneId.systemDefault());
+
+    public AdminDashboardView(DashboardStatsService dashboard) {
+
+        SessionUser u = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (u == null || u.role() != AppRoles.ADMIN) {
+            UI.getCurrent().navigate("login");
+            return;
+        }
+
+        Icon icon = VaadinIcon.DASHBOARD.create();
+        icon.getStyle().set("margin-right", "4px");
+        HorizontalLayout title = new HorizontalLayout(icon, new H2("Resumen"));
+        title.setAlignItems(Alignment.CENTER);
+        add(title);
+
+        // Totales en memoria: abrir el panel no consulta la base
+        DashboardStatsService.DashboardStats s = dashboard.snapshot();
+
+        FlexLayout cards = new FlexLayout(
+                card(VaadinIcon.GROUP, "Alumnos", s.students()),
+                card(VaadinIcon.ACADEMY_CAP, "Profesores", s.professors()),
+                card(VaadinIcon.BOOK, "Cursos", s.courses()),
+                card(VaadinIcon.CLIPBOARD_TEXT, "Inscripciones " + s.year(), s.seatsThisYear()),
+                card(VaadinIcon.STAR, "Calificadas", s.graded()),
+                card(VaadinIcon.HOURGLASS, "Sin nota", s.pending()));
+        cards.setFlexWrap(FlexLayout.FlexWrap.WRAP);
+        cards.getStyle().set("gap", "16px");
+        add(cards);
+
+        Span footer = new Span("Última reconciliación: " + TIME.format(s.reconciledAt()));
+        footer.getStyle().set("font-size", "var(--lumo-font-size-s)")
+                         .set("color", "var(--lumo-secondary-text-color)");
+        add(footer);
+    }
+
+    private static VerticalLayout card(VaadinIcon icon, String label, long value) {
+        Span caption = new Span(label);
+        caption.getStyle().set("color", "var(--lumo-secondary-text-color)");
+        Span number = new Span(String.valueOf(value));
+        number.getStyle().set("font-size", "var(--lumo-font-size-xxxl)")
+                         .set("font-weight", "600");
+
+        VerticalLayout box = new VerticalLayout(icon.create(), number, caption);
+        box.setSpacing(false);
+        box.setWidth("180px");
+        box.getStyle().set("background", "#ffffff")
+                      .set("border-radius", "8px")
+                      .set("box-shadow", "0 1px 4px rgba(0,0,0,.15)");
+        return box;
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.app.base.ui.view;
 
 import com.example.app.base.domain.*;
+import com.example.app.base.query.SeatListItem;
+import com.example.app.base.query.SeatQueryService;
 import com.example.app.base.service.*;
+import com.example.app.base.ui.component.CsvImportDialog;
+import com.example.app.base.ui.component.KeysetFetchCallback;
 import com.example.app.security.AppRoles;
+import com.example.app.security.SessionUser;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
@@ -10,22 +15,28 @@ import com.vaadin.flow.component.combobox.ComboBox;
 import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
 import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.IntegerField;
 import com.vaadin.flow.component.textfield.NumberField;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.binder.Binder;
+import com.vaadin.flow.data.provider.ListDataProvider;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
 import jakarta.annotation.security.RolesAllowed;
-import java.util.List;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+
+import static com.vaadin.flow.spring.data.VaadinSpringDataHelpers.toSpringPageRequest;
 
 @RolesAllowed("ADMIN")
 @PageTitle("Inscripciones")
@@ -33,23 +44,39 @@ import java.util.stream.Collectors;
 public class AdminEnrollmentsView extends VerticalLayout {
 
     private final SeatService    seatService;
+    private final SeatQueryService seatQueries;
     private final CourseService  courseService;
     private final StudentService studentService;
+    private final StudentDirectory studentDirectory;
+    private final EnrollmentCsvImporter importer;
+    private final AsyncTaskExecutor taskExecutor;
 
-    private final Grid<Seat> grid = new Grid<>(Seat.class, false);
+    private final Grid<SeatListItem> grid = new Grid<>();
     private final Button     toggleHistoryBtn =
             new Button("Ver historial", VaadinIcon.BOOK.create());
+    private final KeysetFetchCallback<SeatListItem, SeatQueryService.HistoryKey> historyCursor;
 
     public AdminEnrollmentsView(SeatService seatService,
+                                SeatQueryService seatQueries,
                                 CourseService courseService,
-                                StudentService studentService) {
+                                StudentService studentService,
+                                StudentDirectory studentDirectory,
+                                EnrollmentCsvImporter importer,
+                                @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                AsyncTaskExecutor taskExecutor) {
 
         this.seatService    = seatService;
+        this.seatQueries    = seatQueries;
         this.courseService  = courseService;
         this.studentService = studentService;
-
-        User u = VaadinSession.getCurrent().getAttribute(User.class);
-        if (u == null || u.getRole() != AppRoles.ADMIN) {
+        this.studentDirectory = studentDirectory;
+        this.importer         = importer;
+        this.taskExecutor     = taskExecutor;
+        this.historyCursor  = new KeysetFetchCallback<>(seatQueries::historyAfter, seatQueries::history,
+                                                        SeatQueryService.HistoryKey::of);
+
+        SessionUser u = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (u == null || u.role() != AppRoles.ADMIN) {
             UI.getCurrent().navigate("login");
             return;
         }
@@ -74,12 +101,18 @@ public class AdminEnrollmentsView extends VerticalLayout {
                 e -> openEditor(new Seat()));
         addBtn.setIconAfterText(false);
 
+        Button importBtn = new Button("Importar CSV", VaadinIcon.UPLOAD.create(),
+                e -> openImportDialog());
+
+        Button exportBtn = new Button("Exportar CSV", VaadinIcon.DOWNLOAD.create(),
+                e -> openExportDialog());
+
         toggleHistoryBtn.addThemeVariants(ButtonVariant.LUMO_TERTIARY,
                                           ButtonVariant.LUMO_CONTRAST);
         toggleHistoryBtn.addClickListener(e -> toggleHistory());
 
         HorizontalLayout header =
-                new HorizontalLayout(title, addBtn, toggleHistoryBtn);
+                new HorizontalLayout(title, addBtn, importBtn, exportBtn, toggleHistoryBtn);
         header.setDefaultVerticalComponentAlignment(Alignment.CENTER);
         header.expand(title);
         add(header);
@@ -87,23 +120,35 @@ public class AdminEnrollmentsView extends VerticalLayout {
 
 
     private void configureGrid() {
-        grid.addColumn(Seat::getId).setHeader("ID").setWidth("70px");
-        grid.addColumn(s -> s.getCourse().getName()).setHeader("Curso");
-        grid.addColumn(s -> s.getStudent().getName()).setHeader("Alumno");
-        grid.addColumn(Seat::getYear).setHeader("Año");
-        grid.addColumn(Seat::getMark).setHeader("Nota");
+        grid.addColumn(SeatListItem::id).setHeader("ID").setWidth("70px")
+            .setSortProperty("id");
+        grid.addColumn(SeatListItem::courseName).setHeader("Curso")
+            .setSortProperty("course.name");
+        grid.addColumn(SeatListItem::studentName).setHeader("Alumno")
+            .setSortProperty("student.name");
+        grid.addColumn(SeatListItem::year).setHeader("Año").setSortProperty("year");
+        grid.addColumn(SeatListItem::mark).setHeader("Nota").setSortProperty("mark");
         grid.setSizeFull();
-        grid.addItemDoubleClickListener(ev -> openEditor(ev.getItem()));
+        grid.addItemDoubleClickListener(ev -> seatService.findById(ev.getItem().id())
+                                                         .ifPresent(this::openEditor));
     }
 
     private void refreshGrid() {
-        if (grid.isVisible()) grid.setItems(seatService.findAllOrdered());
+        if (grid.isVisible()) {
+            historyCursor.reset();
+            grid.getDataProvider().refreshAll();
+        }
     }
 
     private void toggleHistory() {
         boolean show = !grid.isVisible();
         grid.setVisible(show);
-        if (show) refreshGrid();
+        if (show) {
+            historyCursor.reset();
+            grid.setItems(query -> query.getSortOrders().isEmpty()
+                    ? historyCursor.fetch(query)
+                    : seatQueries.list(toSpringPageRequest(query)).stream());
+        }
         toggleHistoryBtn.setText(show ? "Ocultar historial" : "Ver historial");
     }
 
@@ -193,6 +238,100 @@ public class AdminEnrollmentsView extends VerticalLayout {
     }
 
 
+    private void openImportDialog() {
+        new CsvImportDialog<>("Importar inscripciones",
+                              "Archivo CSV con columnas: matrícula, curso, fecha (AAAA-MM-DD).",
+                              importer::importCsv,
+                              AdminEnrollmentsView::describe,
+                              taskExecutor,
+                              this::refreshGrid).open();
+    }
+
+    private void openExportDialog() {
+        Dialog dialog = new Dialog();
+        dialog.setHeaderTitle("Exportar inscripciones");
+        dialog.setWidth("450px");
+
+        ComboBox<Course> courseSelect = new ComboBox<>("Curso");
+        courseSelect.setPrefixComponent(VaadinIcon.BOOK.create());
+        courseSelect.setItems(courseService.findAll());
+        courseSelect.setItemLabelGenerator(Course::getName);
+        courseSelect.setClearButtonVisible(true);
+        courseSelect.setPlaceholder("Todos");
+
+        IntegerField yearField = new IntegerField("Año");
+        yearField.setClearButtonVisible(true);
+        yearField.setPlaceholder("Todos");
+
+        TextField chosenStudentField = new TextField("Alumno");
+        chosenStudentField.setReadOnly(true);
+        chosenStudentField.setPlaceholder("Todos");
+        chosenStudentField.setWidthFull();
+        chosenStudentField.setPrefixComponent(VaadinIcon.USER.create());
+        final Long[] chosenStudent = { null };
+
+        Anchor download = new Anchor(EnrollmentExportController.PATH, "");
+        download.getElement().setAttribute("download", true);
+        download.getElement().setAttribute("router-ignore", true);
+        Button downloadBtn = new Button("Descargar", VaadinIcon.DOWNLOAD.create());
+        downloadBtn.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
+        download.add(downloadBtn);
+
+        Runnable updateHref = () -> {
+            StringBuilder href = new StringBuilder(EnrollmentExportController.PATH);
+            char sep = '?';
+            if (courseSelect.getValue() != null) {
+                href.append(sep).append("courseId=").append(courseSelect.getValue().getId());
+                sep = '&';
+            }
+            if (yearField.getValue() != null) {
+                href.append(sep).append("year=").append(yearField.getValue());
+                sep = '&';
+            }
+            if (chosenStudent[0] != null) {
+                href.append(sep).append("studentId=").append(chosenStudent[0]);
+            }
+            download.setHref(href.toString());
+        };
+        courseSelect.addValueChangeListener(e -> updateHref.run());
+        yearField.addValueChangeListener(e -> updateHref.run());
+
+        Button selectStudentBtn = new Button("Seleccionar alumno", e ->
+                openStudentPicker(stu -> {
+                    chosenStudent[0] = stu.getId();
+                    chosenStudentField.setValue(stu.getName());
+                    updateHref.run();
+                }));
+        Button clearStudentBtn = new Button("Quitar", e -> {
+            chosenStudent[0] = null;
+            chosenStudentField.clear();
+            updateHref.run();
+        });
+        selectStudentBtn.addThemeVariants(ButtonVariant.LUMO_TERTIARY_INLINE, ButtonVariant.LUMO_SMALL);
+        clearStudentBtn.addThemeVariants(ButtonVariant.LUMO_TERTIARY_INLINE, ButtonVariant.LUMO_SMALL);
+
+        HorizontalLayout studentActions = new HorizontalLayout(selectStudentBtn, clearStudentBtn);
+        VerticalLayout studentBlock = new VerticalLayout(chosenStudentField, studentActions);
+        studentBlock.setPadding(false); studentBlock.setSpacing(false);
+
+        Button cancel = new Button("Cerrar", e -> dialog.close());
+        HorizontalLayout actions = new HorizontalLayout(download, cancel);
+        actions.setWidthFull();
+        actions.setJustifyContentMode(JustifyContentMode.END);
+
+        dialog.add(new VerticalLayout(courseSelect, yearField, studentBlock, actions));
+        dialog.open();
+    }
+
+    private static String describe(EnrollmentCsvImporter.Result r) {
+        return "Leídas: " + r.read()
+             + " · Inscriptas: " + r.inserted()
+             + " · Duplicadas: " + r.duplicates()
+             + " · Matrícula desconocida: " + r.unknownStudents()
+             + " · Curso desconocido: " + r.unknownCourses()
+             + " · Inválidas: " + r.invalid();
+    }
+
     private void openStudentPicker(Consumer<Student> onSelect) {
 
         Dialog picker = new Dialog();
@@ -205,29 +344,25 @@ public class AdminEnrollmentsView extends VerticalLayout {
         search.setPrefixComponent(VaadinIcon.SEARCH.create());
         search.setWidthFull();
 
-        Grid<Student> stuGrid = new Grid<>(Student.class, false);
-        stuGrid.addColumn(Student::getName).setHeader("Nombre").setAutoWidth(true);
-        stuGrid.addColumn(Student::getEmail).setHeader("Email").setAutoWidth(true);
-        stuGrid.addColumn(s -> s.getStudentNumber().toString())
+        Grid<StudentDirectory.Entry> stuGrid = new Grid<>();
+        stuGrid.addColumn(StudentDirectory.Entry::name).setHeader("Nombre").setAutoWidth(true);
+        stuGrid.addColumn(StudentDirectory.Entry::email).setHeader("Email").setAutoWidth(true);
+        stuGrid.addColumn(s -> s.studentNumber().toString())
                .setHeader("Matrícula").setAutoWidth(true);
         stuGrid.setSizeFull();
 
-        List<Student> all = studentService.findAll();
-        stuGrid.setItems(all);
+        ListDataProvider<StudentDirectory.Entry> provider =
+                new ListDataProvider<>(studentDirectory.entries());
+        stuGrid.setDataProvider(provider);
 
         search.addValueChangeListener(ev -> {
             String term = ev.getValue().trim().toLowerCase();
-            if (term.isBlank()) {
-                stuGrid.setItems(all);
-            } else {
-                stuGrid.setItems(all.stream()
-                          .filter(s -> s.getName().toLowerCase().contains(term))
-                          .collect(Collectors.toList()));
-            }
+            provider.setFilter(s -> term.isBlank()
+                                    || s.name().toLowerCase().contains(term));
         });
 
         stuGrid.addItemDoubleClickListener(ev -> {
-            onSelect.accept(ev.getItem());
+            studentService.findById(ev.getItem().id()).ifPresent(onSelect);
             picker.close();
         });
 
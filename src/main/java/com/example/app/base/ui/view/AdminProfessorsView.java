@@ -1,8 +1,14 @@
 package com.example.app.base.ui.view;
 
 import com.example.app.base.domain.*;
+import com.example.app.base.query.ProfessorListItem;
+import com.example.app.base.query.ProfessorQueryService;
 import com.example.app.base.service.*;
 import com.example.app.security.AppRoles;
+import com.example.app.security.PasswordHashingService;
+import com.example.app.security.SessionUser;
+import com.example.app.base.ui.component.AccountImportDialog;
+import com.example.app.base.ui.component.SearchField;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
@@ -21,7 +27,11 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
 import jakarta.annotation.security.RolesAllowed;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+import static com.vaadin.flow.spring.data.VaadinSpringDataHelpers.toSpringPageRequest;
 
 @RolesAllowed("ADMIN")
 @PageTitle("Profesores")
@@ -29,22 +39,33 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class AdminProfessorsView extends VerticalLayout {
 
     private final ProfessorService profService;
+    private final ProfessorQueryService profQueries;
     private final UserService      userService;
-    private final PasswordEncoder  passwordEncoder;
+    private final PasswordHashingService hashing;
+    private final AccountCsvImporter importer;
+    private final AsyncTaskExecutor taskExecutor;
 
-    private final Grid<Professor> grid   = new Grid<>(Professor.class, false);
-    private final TextField       filter = new TextField();
+    private final Grid<ProfessorListItem> grid = new Grid<>();
+    private final SearchField<ProfessorListItem> filter;
 
     public AdminProfessorsView(ProfessorService profService,
+                               ProfessorQueryService profQueries,
                                UserService userService,
-                               PasswordEncoder passwordEncoder) {
+                               PasswordHashingService hashing,
+                               AccountCsvImporter importer,
+                               @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                               AsyncTaskExecutor taskExecutor) {
 
         this.profService     = profService;
+        this.profQueries     = profQueries;
         this.userService     = userService;
-        this.passwordEncoder = passwordEncoder;
+        this.hashing         = hashing;
+        this.importer        = importer;
+        this.taskExecutor    = taskExecutor;
+        this.filter = new SearchField<>("Buscar profesor…", this::showMatching);
 
-        User u = VaadinSession.getCurrent().getAttribute(User.class);
-        if (u == null || u.getRole() != AppRoles.ADMIN) {
+        SessionUser u = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (u == null || u.role() != AppRoles.ADMIN) {
             UI.getCurrent().navigate("login");
             return;
         }
@@ -53,7 +74,6 @@ public class AdminProfessorsView extends VerticalLayout {
         buildHeader();
         configureGrid();
         add(grid);
-        applyFilter("");
     }
 
     private void buildHeader() {
@@ -63,28 +83,28 @@ public class AdminProfessorsView extends VerticalLayout {
         HorizontalLayout title = new HorizontalLayout(cap, titleLbl);
         title.setAlignItems(Alignment.CENTER);
 
-        filter.setPlaceholder("Buscar profesor…");
-        filter.setPrefixComponent(VaadinIcon.SEARCH.create());
-        filter.setClearButtonVisible(true);
-        filter.addValueChangeListener(e -> applyFilter(e.getValue()));
-
         Icon plus = VaadinIcon.PLUS_CIRCLE.create();
         Button addBtn = new Button("Nuevo Profesor", plus,
                 e -> openEditor(new Professor()));
         addBtn.setIconAfterText(false);
 
-        HorizontalLayout header = new HorizontalLayout(title, filter, addBtn);
+        Button importBtn = new Button("Importar CSV", VaadinIcon.UPLOAD.create(),
+                e -> new AccountImportDialog(AccountCsvImporter.Kind.PROFESSOR, importer, taskExecutor,
+                                             this::refreshGrid).open());
+
+        HorizontalLayout header = new HorizontalLayout(title, filter, addBtn, importBtn);
         header.setDefaultVerticalComponentAlignment(Alignment.CENTER);
         header.expand(title);
         add(header);
     }
 
     private void configureGrid() {
-        grid.addColumn(Professor::getId).setHeader("ID").setWidth("70px");
-        grid.addColumn(Professor::getName).setHeader("Nombre");
-        grid.addColumn(Professor::getEmail).setHeader("Email");
-        grid.addColumn(Professor::getPhone).setHeader("Teléfono");
-        grid.addColumn(Professor::getSalary).setHeader("Salario");
+        grid.addColumn(ProfessorListItem::id).setHeader("ID").setWidth("70px")
+            .setSortProperty("id");
+        grid.addColumn(ProfessorListItem::name).setHeader("Nombre").setSortProperty("name");
+        grid.addColumn(ProfessorListItem::email).setHeader("Email").setSortProperty("email");
+        grid.addColumn(ProfessorListItem::phone).setHeader("Teléfono");
+        grid.addColumn(ProfessorListItem::salary).setHeader("Salario").setSortProperty("salary");
 
         grid.addColumn(new ComponentRenderer<>(prof -> {
             Icon trash = VaadinIcon.TRASH.create();
@@ -94,24 +114,24 @@ public class AdminProfessorsView extends VerticalLayout {
             return trash;
         })).setHeader("").setAutoWidth(true).setFlexGrow(0);
 
+        showMatching("");
         grid.setSizeFull();
-        grid.addItemDoubleClickListener(ev -> openEditor(ev.getItem()));
+        grid.addItemDoubleClickListener(ev -> profService.findWithUserById(ev.getItem().id())
+                                                         .ifPresent(this::openEditor));
     }
 
-    private void applyFilter(String term) {
-        grid.setItems(term == null || term.isBlank()
-                ? profService.findAll()
-                : profService.search(term));
+    private void showMatching(String term) {
+        grid.setItems(query -> profQueries
+                .list(term, toSpringPageRequest(query)).stream());
     }
 
+    private void refreshGrid() {
+        grid.getDataProvider().refreshAll();
+    }
 
-    private void openEditor(Professor selected) {
-
-        Professor loaded = selected.getId() != null
-                ? profService.findWithUserById(selected.getId()).orElse(selected)
-                : selected;
 
-        final Professor prof = loaded;
+    /* Profesor nuevo o cargado con su usuario (findWithUserById). */
+    private void openEditor(Professor prof) {
 
         if (prof.getAddress() == null) prof.setAddress(new Address());
         if (prof.getUser()    == null) prof.setUser(new User());
@@ -181,15 +201,24 @@ public class AdminProfessorsView extends VerticalLayout {
             User usr = prof.getUser();
             usr.setRole(AppRoles.PROFESSOR);
 
-            if (!password.getValue().isBlank()) {
-                usr.setPassword(passwordEncoder.encode(password.getValue()));
-            }
-            userService.save(usr);
-            profService.save(prof);
-
-            applyFilter(filter.getValue());
-            dialog.close();
-            Notification.show("Profesor guardado");
+            Button btn = ev.getSource();
+            btn.setEnabled(false);
+            UI ui = UI.getCurrent();
+            hashing.encodeIfPresent(password.getValue()).whenComplete((hash, error) -> ui.access(() -> {
+                btn.setEnabled(true);
+                if (error != null) {
+                    Notification.show(PasswordHashingService.describe(error),
+                                      4000, Notification.Position.MIDDLE);
+                    return;
+                }
+                if (hash != null) usr.setPassword(hash);
+                userService.save(usr);
+                profService.save(prof);
+
+                refreshGrid();
+                dialog.close();
+                Notification.show("Profesor guardado");
+            }));
         });
         Button cancel = new Button("Cerrar", e -> dialog.close());
 
@@ -213,15 +242,15 @@ public class AdminProfessorsView extends VerticalLayout {
     }
 
 
-    private void confirmDeleteProfessor(Professor prof) {
+    private void confirmDeleteProfessor(ProfessorListItem prof) {
         ConfirmDialog cd = new ConfirmDialog();
         cd.setHeader("Eliminar profesor");
-        cd.setText("¿Seguro que deseas eliminar a " + prof.getName() + "?");
+        cd.setText("¿Seguro que deseas eliminar a " + prof.name() + "?");
         cd.setCancelText("Cancelar");
         cd.setConfirmText("Eliminar");
         cd.addConfirmListener(e -> {
-            profService.deleteById(prof.getId());
-            applyFilter(filter.getValue());
+            profService.deleteById(prof.id());
+            refreshGrid();
         });
         cd.open();
     }
@@ -1,13 +1,20 @@
 package com.example.app.base.ui.view;
 
 import com.example.app.base.domain.*;
+import com.example.app.base.query.StudentListItem;
+import com.example.app.base.query.StudentQueryService;
 import com.example.app.base.service.*;
 import com.example.app.security.AppRoles;
+import com.example.app.security.PasswordHashingService;
+import com.example.app.security.SessionUser;
+import com.example.app.base.ui.component.AccountImportDialog;
+import com.example.app.base.ui.component.SearchField;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.confirmdialog.ConfirmDialog;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
@@ -19,41 +26,61 @@ import com.vaadin.flow.data.binder.Binder;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.VaadinSession;
 import jakarta.annotation.security.RolesAllowed;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import java.time.LocalDate;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.vaadin.flow.spring.data.VaadinSpringDataHelpers.toSpringPageRequest;
+
 @RolesAllowed("ADMIN")
 @PageTitle("Alumnos")
 @Route(value = "admin/students", layout = MainLayout.class)
 public class AdminStudentsView extends VerticalLayout {
 
     private final StudentService   studentService;
+    private final StudentQueryService studentQueries;
     private final PersonService    personService;
     private final AddressService   addressService;
     private final UserService      userService;
-    private final PasswordEncoder  passwordEncoder;
+    private final PasswordHashingService hashing;
+    private final TranscriptService transcriptService;
+    private final AccountCsvImporter importer;
+    private final AsyncTaskExecutor taskExecutor;
 
-    private final Grid<Student> grid   = new Grid<>(Student.class, false);
-    private final TextField     filter = new TextField();
+    private final Grid<StudentListItem> grid = new Grid<>();
+    private final SearchField<StudentListItem> filter;
 
     public AdminStudentsView(StudentService studentService,
+                             StudentQueryService studentQueries,
                              PersonService personService,
                              AddressService addressService,
                              UserService userService,
-                             PasswordEncoder passwordEncoder) {
+                             PasswordHashingService hashing,
+                             TranscriptService transcriptService,
+                             AccountCsvImporter importer,
+                             @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                             AsyncTaskExecutor taskExecutor) {
 
         this.studentService  = studentService;
+        this.studentQueries  = studentQueries;
         this.personService   = personService;
         this.addressService  = addressService;
         this.userService     = userService;
-        this.passwordEncoder = passwordEncoder;
-
-        User u = VaadinSession.getCurrent().getAttribute(User.class);
-        if (u == null || u.getRole() != AppRoles.ADMIN) {
+        this.hashing         = hashing;
+        this.transcriptService = transcriptService;
+        this.importer        = importer;
+        this.taskExecutor    = taskExecutor;
+        this.filter = new SearchField<>("Buscar alumno…", this::showMatching);
+
+        SessionUser u = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (u == null || u.role() != AppRoles.ADMIN) {
             UI.getCurrent().navigate("login");
             return;
         }
@@ -62,7 +89,6 @@ public class AdminStudentsView extends VerticalLayout {
         buildHeader();
         configureGrid();
         add(grid);
-        applyFilter("");
     }
 
     private void buildHeader() {
@@ -72,26 +98,63 @@ public class AdminStudentsView extends VerticalLayout {
         HorizontalLayout title = new HorizontalLayout(titIcon, titleLbl);
         title.setAlignItems(Alignment.CENTER);
 
-        filter.setPlaceholder("Buscar alumno…");
-        filter.setPrefixComponent(VaadinIcon.SEARCH.create());
-        filter.setClearButtonVisible(true);
-        filter.addValueChangeListener(e -> applyFilter(e.getValue()));
-
         Icon plus = VaadinIcon.PLUS_CIRCLE.create();
         Button addBtn = new Button("Nuevo Alumno", plus, e -> openEditor(new Student()));
         addBtn.setIconAfterText(false);
 
-        HorizontalLayout header = new HorizontalLayout(title, filter, addBtn);
+        Button transcriptsBtn = new Button("Constancias", VaadinIcon.FILE_TEXT_O.create(),
+                e -> openTranscriptsDialog());
+
+        Button importBtn = new Button("Importar CSV", VaadinIcon.UPLOAD.create(),
+                e -> new AccountImportDialog(AccountCsvImporter.Kind.STUDENT, importer, taskExecutor,
+                                             this::refreshGrid).open());
+
+        HorizontalLayout header = new HorizontalLayout(title, filter, addBtn, importBtn, transcriptsBtn);
         header.setDefaultVerticalComponentAlignment(Alignment.CENTER);
         header.expand(title);
         add(header);
     }
 
+    private void openTranscriptsDialog() {
+        Dialog dialog = new Dialog();
+        dialog.setHeaderTitle("Constancias por año");
+        dialog.setWidth("400px");
+
+        IntegerField yearField = new IntegerField("Año");
+        yearField.setValue(LocalDate.now().getYear());
+        yearField.setHelperText("Un PDF por cada alumno inscripto ese año, en un zip.");
+
+        Button downloadBtn = new Button("Descargar", VaadinIcon.DOWNLOAD.create());
+        Anchor download = new Anchor();
+        download.getElement().setAttribute("download", true);
+        download.add(downloadBtn);
+
+        Runnable updateHref = () -> {
+            Integer year = yearField.getValue();
+            downloadBtn.setEnabled(year != null);
+            if (year != null) {
+                download.setHref(new StreamResource("constancias-" + year + ".zip",
+                        (out, session) -> transcriptService.writeYearZip(year, out)));
+            }
+        };
+        yearField.addValueChangeListener(e -> updateHref.run());
+        updateHref.run();
+
+        Button close = new Button("Cerrar", e -> dialog.close());
+        HorizontalLayout actions = new HorizontalLayout(download, close);
+        actions.setWidthFull();
+        actions.setJustifyContentMode(JustifyContentMode.END);
+
+        dialog.add(new VerticalLayout(yearField, actions));
+        dialog.open();
+    }
+
     private void configureGrid() {
-        grid.addColumn(Student::getId).setHeader("ID").setWidth("70px");
-        grid.addColumn(Student::getName).setHeader("Nombre");
-        grid.addColumn(Student::getEmail).setHeader("Email");
-        grid.addColumn(Student::getStudentNumber).setHeader("Matrícula");
+        grid.addColumn(StudentListItem::id).setHeader("ID").setWidth("70px")
+            .setSortProperty("id");
+        grid.addColumn(StudentListItem::name).setHeader("Nombre").setSortProperty("name");
+        grid.addColumn(StudentListItem::email).setHeader("Email").setSortProperty("email");
+        grid.addColumn(StudentListItem::studentNumber).setHeader("Matrícula");
 
         grid.addColumn(new ComponentRenderer<>(student -> {
             Icon trash = VaadinIcon.TRASH.create();
@@ -100,22 +163,25 @@ public class AdminStudentsView extends VerticalLayout {
             return trash;
         })).setHeader("").setAutoWidth(true).setFlexGrow(0);
 
+        showMatching("");
         grid.setSizeFull();
-        grid.addItemDoubleClickListener(ev -> openEditor(ev.getItem()));
+        grid.addItemDoubleClickListener(ev -> studentService.findWithUserById(ev.getItem().id())
+                                                            .ifPresent(this::openEditor));
     }
 
-    private void applyFilter(String term) {
-        grid.setItems(studentService.search(term));
+    /* Con o sin término la grilla pagina: cada página sale del ranking del índice o de la consulta ordenada. */
+    private void showMatching(String term) {
+        grid.setItems(query -> studentQueries
+                .list(term, toSpringPageRequest(query)).stream());
     }
 
+    private void refreshGrid() {
+        grid.getDataProvider().refreshAll();
+    }
 
-    private void openEditor(Student selected) {
-
-        Student loaded = selected.getId() != null
-                ? studentService.findWithUserById(selected.getId()).orElse(selected)
-                : selected;
 
-        final Student student = loaded;
+    /* Alumno nuevo o cargado con su usuario (findWithUserById). */
+    private void openEditor(Student student) {
 
         if (student.getAddress() == null)  student.setAddress(new Address());
         if (student.getUser()    == null)  student.setUser(new User());
@@ -186,22 +252,33 @@ public class AdminStudentsView extends VerticalLayout {
             }
 
             usr.setRole(AppRoles.STUDENT);
-            if (!password.getValue().isBlank()) {
-                usr.setPassword(passwordEncoder.encode(password.getValue()));
-            }
 
-            try {
-                userService.save(usr);
-                student.setUser(usr);
-                studentService.save(student);
-                applyFilter(filter.getValue());
-                dialog.close();
-                Notification.show("Alumno guardado");
-            } catch (DataIntegrityViolationException ex) {
-                Notification.show("Error al guardar: " +
-                        ex.getRootCause().getMessage(),
-                        4000, Notification.Position.MIDDLE);
-            }
+            // El hash BCrypt se calcula fuera del hilo de la UI; se guarda al volver
+            Button btn = ev.getSource();
+            btn.setEnabled(false);
+            UI ui = UI.getCurrent();
+            hashing.encodeIfPresent(password.getValue()).whenComplete((hash, error) -> ui.access(() -> {
+                btn.setEnabled(true);
+                if (error != null) {
+                    Notification.show(PasswordHashingService.describe(error),
+                                      4000, Notification.Position.MIDDLE);
+                    return;
+                }
+                if (hash != null) usr.setPassword(hash);
+
+                try {
+                    userService.save(usr);
+                    student.setUser(usr);
+                    studentService.save(student);
+                    refreshGrid();
+                    dialog.close();
+                    Notification.show("Alumno guardado");
+                } catch (DataIntegrityViolationException ex) {
+                    Notification.show("Error al guardar: " +
+                            ex.getRootCause().getMessage(),
+                            4000, Notification.Position.MIDDLE);
+                }
+            }));
         });
         Button cancel = new Button("Cancelar", e -> dialog.close());
 
@@ -224,15 +301,15 @@ public class AdminStudentsView extends VerticalLayout {
     }
 
 
-    private void confirmDeleteStudent(Student student) {
+    private void confirmDeleteStudent(StudentListItem student) {
         ConfirmDialog cd = new ConfirmDialog();
         cd.setHeader("Eliminar alumno");
-        cd.setText("¿Seguro que deseas eliminar a " + student.getName() + "?");
+        cd.setText("¿Seguro que deseas eliminar a " + student.name() + "?");
         cd.setCancelText("Cancelar");
         cd.setConfirmText("Eliminar");
         cd.addConfirmListener(e -> {
-            studentService.deleteById(student.getId());
-            applyFilter(filter.getValue());
+            studentService.deleteById(student.id());
+            refreshGrid();
         });
         cd.open();
     }
@@ -11,6 +11,6 @@ import com.vaadin.flow.router.Route;
 @RolesAllowed("ADMIN")
 public class AdminView extends VerticalLayout {
     public AdminView() {
-        UI.getCurrent().navigate("admin/courses");
+        UI.getCurrent().navigate("admin/dashboard");
     }
 }
\ No newline at end of file
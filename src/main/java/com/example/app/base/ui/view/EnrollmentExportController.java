@@ -0,0 +1,33 @@
+package com.example.app.base.ui.view;
+
+import com.example.app.base.service.SeatExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.IOException;
+
+@Controller
+public class EnrollmentExportController {
+
+    static final String PATH = "/admin/export/enrollments.csv";
+
+    private final SeatExportService exportService;
+
+    public EnrollmentExportController(SeatExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // Protegido por la regla /admin/** de CommonSecurityConfig
+    @GetMapping(PATH)
+    public void export(@RequestParam(required = false) Long courseId,
+                       @RequestParam(required = false) Integer year,
+                       @RequestParam(required = false) Long studentId,
+                       HttpServletResponse response) throws IOException {
+        response.setContentType("text/csv;charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"inscripciones.csv\"");
+        exportService.writeCsv(new SeatExportService.Filter(courseId, year, studentId),
+                               response.getWriter());
+    }
+}
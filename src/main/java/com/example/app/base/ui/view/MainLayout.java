@@ -1,7 +1,7 @@
 package com.example.app.base.ui.view;
 
-import com.example.app.base.domain.User;
 import com.example.app.security.AppRoles;
+import com.example.app.security.SessionUser;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.applayout.AppLayout;
 import com.vaadin.flow.component.button.Button;
@@ -34,7 +34,7 @@ public class MainLayout extends AppLayout {
     }
 
     private HorizontalLayout buildNavTabs() {
-        User user = VaadinSession.getCurrent().getAttribute(User.class);
+        SessionUser user = VaadinSession.getCurrent().getAttribute(SessionUser.class);
         Tabs tabs = new Tabs();
         tabs.setId("main-tabs");
         tabs.setFlexGrowForEnclosedTabs(1);
@@ -45,8 +45,9 @@ public class MainLayout extends AppLayout {
                 .set("font-weight", "600");
 
         if (user != null) {
-            switch (user.getRole()) {
+            switch (user.role()) {
                 case ADMIN -> {
+                    tabs.add(tab("Resumen",          AdminDashboardView.class));
                     tabs.add(tab("Administradores", AdminAdminsView.class));
                     tabs.add(tab("Cursos",           AdminCoursesView.class));
                     tabs.add(tab("Profesores",       AdminProfessorsView.class));
@@ -2,6 +2,7 @@ package com.example.app.base.ui.view;
 import com.example.app.base.domain.*;
 import com.example.app.base.service.*;
 import com.example.app.security.AppRoles;
+import com.example.app.security.SessionUser;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.formlayout.FormLayout;
@@ -36,8 +37,8 @@ public class ProfessorProfileView extends VerticalLayout {
         this.personService  = personService;
         this.addressService = addressService;
 
-        User u = VaadinSession.getCurrent().getAttribute(User.class);
-        if (u == null || u.getRole() != AppRoles.PROFESSOR) {
+        SessionUser u = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (u == null || u.role() != AppRoles.PROFESSOR) {
             UI.getCurrent().navigate("login");
             return;
         }
@@ -48,7 +49,7 @@ public class ProfessorProfileView extends VerticalLayout {
         header.add(new Icon(VaadinIcon.USER), new Span(" Mi Perfil"));
         add(header);
 
-        profService.findByUserId(u.getId()).ifPresentOrElse(me -> {
+        profService.findByUserId(u.id()).ifPresentOrElse(me -> {
             if (me.getAddress() == null) me.setAddress(new Address());
             Binder<Professor> binder = new Binder<>(Professor.class);
 
@@ -1,7 +1,9 @@
 package com.example.app.base.ui.view;
 import com.example.app.base.domain.*;
 import com.example.app.base.service.*;
+import com.example.app.base.ui.component.SeatBroadcaster;
 import com.example.app.security.AppRoles;
+import com.example.app.security.SessionUser;
 import com.vaadin.flow.component.Text;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
@@ -9,7 +11,10 @@ import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.datepicker.DatePicker;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.grid.dataview.GridListDataView;
+import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
@@ -22,11 +27,18 @@ import com.vaadin.flow.data.provider.ListDataProvider;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.shared.Registration;
 
 import jakarta.annotation.security.RolesAllowed;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.List;
-import java.util.OptionalDouble;
+import java.util.Map;
+
+import static com.vaadin.flow.spring.data.VaadinSpringDataHelpers.toSpringPageRequest;
 @RolesAllowed("PROFESSOR")
 @PageTitle("Panel Profesor")
 @Route(value = "professor", layout = MainLayout.class)
@@ -34,18 +46,28 @@ public class ProfessorView extends VerticalLayout {
 	
     private final StudentService studentService;
     private final SeatService seatService;
+    private final CourseStatsService courseStatsService;
+    private final CourseAnalyticsService analyticsService;
+    private final SeatBroadcaster seatBroadcaster;
     private final Grid<Course> courseGrid = new Grid<>(Course.class, false);
 
-    public ProfessorView(ProfessorService profService,
-                         StudentService studentService,
-                         CourseService courseService,
-                         SeatService seatService) {
-
-        this.studentService = studentService;
-        this.seatService    = seatService;
+    private Map<Long, CourseStatsService.CourseStats> stats = Map.of();
 
-        User u = VaadinSession.getCurrent().getAttribute(User.class);
-        if (u == null || u.getRole() != AppRoles.PROFESSOR) {
+    public ProfessorView(StudentService studentService,
+                         CourseService courseService,
+                         SeatService seatService,
+                         CourseStatsService courseStatsService,
+                         CourseAnalyticsService analyticsService,
+                         SeatBroadcaster seatBroadcaster) {
+
+        this.studentService     = studentService;
+        this.seatService        = seatService;
+        this.courseStatsService = courseStatsService;
+        this.analyticsService   = analyticsService;
+        this.seatBroadcaster    = seatBroadcaster;
+
+        SessionUser u = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (u == null || u.role() != AppRoles.PROFESSOR) {
             UI.getCurrent().navigate("login");
             return;
         }
@@ -54,29 +76,27 @@ public class ProfessorView extends VerticalLayout {
 
         H2 welcome = new H2();
         welcome.add(new Icon(VaadinIcon.USER),
-                    new Text(" Bienvenido, " + u.getUsername()));
+                    new Text(" Bienvenido, " + u.username()));
         add(welcome);
 
         courseGrid.addColumn(Course::getId).setHeader("ID").setWidth("70px");
         courseGrid.addColumn(Course::getName).setHeader("Curso").setAutoWidth(true);
-        courseGrid.addColumn(c -> seatService.findByCourseId(c.getId()).size())
+        courseGrid.addColumn(c -> statsOf(c).enrolled())
                    .setHeader("Inscritos").setAutoWidth(true);
         courseGrid.addColumn(c -> {
-            OptionalDouble avgOpt = seatService.findByCourseId(c.getId()).stream()
-                    .mapToDouble(s -> s.getMark() != null ? s.getMark() : 0.0)
-                    .average();
-            return avgOpt.isPresent() ? String.format("%.2f", avgOpt.getAsDouble()) : "—";
+            Double avg = statsOf(c).avgMark();
+            return avg != null ? String.format("%.2f", avg) : "—";
         }).setHeader("Prom. Nota").setAutoWidth(true);
         courseGrid.asSingleSelect().addValueChangeListener(evt -> {
             if (evt.getValue() != null) openEnrollmentDialog(evt.getValue());
         });
         courseGrid.setSizeFull();
 
-        Long profId = profService.findByUserId(u.getId())
-                                 .map(Professor::getId).orElse(-1L);
+        Long profId = u.personId() != null ? u.personId() : -1L;
         List<Course> cursos = courseService.findByProfessorId(profId);
         ListDataProvider<Course> provider = new ListDataProvider<>(cursos);
         courseGrid.setDataProvider(provider);
+        refreshStats(cursos);
 
         TextField filter = new TextField();
         filter.setPlaceholder("Buscar curso…");
@@ -95,6 +115,21 @@ public class ProfessorView extends VerticalLayout {
         add(header, courseGrid);
     }
 
+    private CourseStatsService.CourseStats statsOf(Course course) {
+        return stats.getOrDefault(course.getId(), CourseStatsService.CourseStats.EMPTY);
+    }
+
+    private void refreshStats(List<Course> cursos) {
+        stats = courseStatsService.statsFor(cursos.stream().map(Course::getId).toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void refreshCourseGrid() {
+        ListDataProvider<Course> provider = (ListDataProvider<Course>) courseGrid.getDataProvider();
+        refreshStats(List.copyOf(provider.getItems()));
+        provider.refreshAll();
+    }
+
     /* ------------ Inscripciones del curso ------------ */
 
     private void openEnrollmentDialog(Course course) {
@@ -128,14 +163,25 @@ public class ProfessorView extends VerticalLayout {
             seat.setStudent(s);
             seat.setCourse(course);
             seat.setYear(inscDate.getValue());
-            seatService.save(seat);
-            refreshSeatGrid(course, dialog);
+            try {
+                seatService.save(seat);
+            } catch (SeatService.DuplicateEnrollmentException dup) {
+                Notification.show(dup.getMessage(),
+                                  3000, Notification.Position.MIDDLE);
+                return;
+            }
             selected[0] = null;
             chooseStudentBtn.setText("Seleccionar alumno");
         });
 
+        Button gradeBtn = new Button("Cargar notas", new Icon(VaadinIcon.STAR));
+        gradeBtn.addClickListener(ev -> openGradingDialog(course));
+
+        Button analyticsBtn = new Button("Analítica", new Icon(VaadinIcon.BAR_CHART));
+        analyticsBtn.addClickListener(ev -> openAnalyticsDialog(course));
+
         HorizontalLayout toolbar =
-                new HorizontalLayout(chooseStudentBtn, inscDate, enrollBtn);
+                new HorizontalLayout(chooseStudentBtn, inscDate, enrollBtn, gradeBtn, analyticsBtn);
         toolbar.setWidthFull();
         toolbar.setAlignItems(Alignment.END);
         toolbar.expand(inscDate);
@@ -150,10 +196,7 @@ public class ProfessorView extends VerticalLayout {
             Button del = new Button(new Icon(VaadinIcon.TRASH));
             del.addThemeVariants(ButtonVariant.LUMO_ERROR,
                                  ButtonVariant.LUMO_TERTIARY_INLINE);
-            del.addClickListener(ev -> {
-                seatService.deleteById(seat.getId());
-                refreshSeatGrid(course, dialog);
-            });
+            del.addClickListener(ev -> seatService.deleteById(seat.getId()));
             return del;
         }).setHeader("Quitar");
         seatGrid.asSingleSelect().addValueChangeListener(evt -> {
@@ -162,9 +205,136 @@ public class ProfessorView extends VerticalLayout {
         });
         seatGrid.setSizeFull();
 
+        // Carga completa una sola vez; después llegan sólo los cambios del curso (propios y de otros usuarios)
+        GridListDataView<Seat> seats =
+                seatGrid.setItems(new ArrayList<>(seatService.findByCourseId(course.getId())));
+        UI ui = UI.getCurrent();
+        Registration subscription = seatBroadcaster.register(course.getId(),
+                change -> applySeatChange(change, course, ui, seats));
+
         dialog.add(toolbar, seatGrid);
+        dialog.addOpenedChangeListener(ev -> {
+            if (!ev.isOpened()) {
+                subscription.remove();
+                refreshCourseGrid();
+            }
+        });
+        dialog.addDetachListener(ev -> subscription.remove());
         dialog.open();
-        refreshSeatGrid(course, dialog);
+    }
+
+    /*
+     * Corre en el hilo del SeatBroadcaster: las consultas se hacen antes de ui.access, para no retener el lock de la
+     * sesión durante la E/S; adentro sólo se toca el GridListDataView.
+     */
+    private void applySeatChange(SeatChangedEvent change, Course course, UI ui, GridListDataView<Seat> seats) {
+        if (change.isReload()) {
+            List<Seat> all = seatService.findByCourseId(course.getId());
+            ui.access(() -> {
+                seats.removeItems(seats.getItems().toList());
+                seats.addItems(all);
+            });
+            return;
+        }
+        switch (change.type()) {
+            case ADDED -> {
+                List<Seat> added = seatService.findAllById(change.seatIds());
+                ui.access(() -> seats.addItems(added.stream().filter(s -> !seats.contains(s)).toList()));
+            }
+            case REMOVED -> ui.access(() -> seats.removeItems(seats.getItems()
+                                                    .filter(s -> change.seatIds().contains(s.getId()))
+                                                    .toList()));
+            case UPDATED -> {
+                List<Seat> updated = seatService.findAllById(change.seatIds());
+                ui.access(() -> {
+                    Map<Long, Seat> shown = new HashMap<>();
+                    seats.getItems().filter(s -> change.seatIds().contains(s.getId()))
+                         .forEach(s -> shown.put(s.getId(), s));
+                    for (Seat fresh : updated) {
+                        Seat old = shown.get(fresh.getId());
+                        if (old == null) continue;
+                        old.setMark(fresh.getMark());
+                        old.setEvaluationDate(fresh.getEvaluationDate());
+                        old.setYear(fresh.getYear());
+                        old.setStudent(fresh.getStudent());
+                        seats.refreshItem(old);
+                    }
+                });
+            }
+        }
+    }
+
+    /* ------------ Analítica del curso ------------ */
+
+    private void openAnalyticsDialog(Course course) {
+        CourseAnalyticsService.CourseAnalytics a = analyticsService.analyticsFor(course.getId());
+
+        Dialog dialog = new Dialog();
+        dialog.setWidth("60%"); dialog.setHeight("80vh");
+
+        H2 title = new H2();
+        title.add(new Icon(VaadinIcon.BAR_CHART), new Span(" Analítica: " + course.getName()));
+
+        HorizontalLayout counts = new HorizontalLayout(
+                metric("Inscritos", String.valueOf(a.enrolled())),
+                metric("Calificados", String.valueOf(a.graded())),
+                metric("Sin nota", String.valueOf(a.pending())),
+                metric("Aprobación (≥ " + fmt(analyticsService.passMark()) + ")",
+                       Double.isNaN(a.passRate()) ? "—" : String.format(Locale.ROOT, "%.0f%%", a.passRate() * 100)));
+        HorizontalLayout marks = new HorizontalLayout(
+                metric("Promedio", fmt(a.mean())),
+                metric("Mediana", fmt(a.median())),
+                metric("P90", fmt(a.p90())),
+                metric("Desvío", fmt(a.stdDev())),
+                metric("Mín / Máx", fmt(a.min()) + " / " + fmt(a.max())));
+
+        VerticalLayout histogram = new VerticalLayout();
+        histogram.setPadding(false); histogram.setSpacing(false);
+        int top = 1;
+        for (int c : a.histogram()) top = Math.max(top, c);
+        double width = CourseAnalyticsService.MAX_MARK / CourseAnalyticsService.BUCKETS;
+        for (int b = 0; b < a.histogram().length; b++) {
+            Span label = new Span(fmt(b * width) + "–" + fmt((b + 1) * width));
+            label.setWidth("90px");
+            Div bar = new Div();
+            bar.setHeight("14px");
+            bar.setWidth(Math.max(1, 100 * a.histogram()[b] / top) + "%");
+            bar.getStyle().set("background", "var(--lumo-primary-color)")
+                          .set("border-radius", "2px");
+            Div track = new Div(bar);
+            track.getStyle().set("flex", "1");
+            HorizontalLayout row = new HorizontalLayout(label, track, new Span(String.valueOf(a.histogram()[b])));
+            row.setWidthFull();
+            row.setAlignItems(Alignment.CENTER);
+            histogram.add(row);
+        }
+
+        Grid<CourseAnalyticsService.Ranked> ranking = new Grid<>();
+        ranking.addColumn(CourseAnalyticsService.Ranked::rank).setHeader("Puesto").setWidth("90px").setFlexGrow(0);
+        ranking.addColumn(CourseAnalyticsService.Ranked::studentName).setHeader("Alumno").setAutoWidth(true);
+        ranking.addColumn(r -> fmt(r.mark())).setHeader("Nota");
+        ranking.setItems(a.ranking());
+        ranking.setHeight("300px");
+
+        Button close = new Button("Cerrar", e -> dialog.close());
+        dialog.add(title, counts, marks, new H3("Distribución"), histogram, new H3("Ranking"), ranking, close);
+        dialog.open();
+    }
+
+    private static VerticalLayout metric(String label, String value) {
+        Span caption = new Span(label);
+        caption.getStyle().set("font-size", "var(--lumo-font-size-s)")
+                          .set("color", "var(--lumo-secondary-text-color)");
+        Span number = new Span(value);
+        number.getStyle().set("font-size", "var(--lumo-font-size-xl)")
+                         .set("font-weight", "600");
+        VerticalLayout box = new VerticalLayout(caption, number);
+        box.setPadding(false); box.setSpacing(false);
+        return box;
+    }
+
+    private static String fmt(double value) {
+        return Double.isNaN(value) ? "—" : String.format(Locale.ROOT, "%.2f", value);
     }
 
     /* ------------ selector de alumno ------------ */
@@ -188,22 +358,11 @@ public class ProfessorView extends VerticalLayout {
         grid.addColumn(s -> s.getStudentNumber().toString())
             .setHeader("Matrícula").setAutoWidth(true);
 
-        List<Long> already = seatService.findByCourseId(course.getId()).stream()
-                .map(seat -> seat.getStudent().getId()).toList();
-        List<Student> candidates =
-                studentService.findAll().stream()
-                              .filter(st -> !already.contains(st.getId()))
-                              .toList();
-        ListDataProvider<Student> provider = new ListDataProvider<>(candidates);
-        grid.setDataProvider(provider);
+        grid.setItems(query -> studentService
+                .listNotEnrolledIn(course.getId(), filterField.getValue(), toSpringPageRequest(query))
+                .stream());
 
-        filterField.addValueChangeListener(e -> {
-            String term = e.getValue().trim().toLowerCase();
-            provider.setFilter(stu ->
-                    term.isEmpty() ||
-                    stu.getName().toLowerCase().contains(term) ||
-                    String.valueOf(stu.getId()).contains(term));
-        });
+        filterField.addValueChangeListener(e -> grid.getDataProvider().refreshAll());
 
         grid.addItemDoubleClickListener(ev -> {
             selected[0] = ev.getItem();
@@ -217,11 +376,56 @@ public class ProfessorView extends VerticalLayout {
         picker.open();
     }
 
-    @SuppressWarnings("unchecked")
-    private void refreshSeatGrid(Course course, Dialog dialog) {
-        dialog.getChildren().filter(c -> c instanceof Grid)
-              .map(c -> (Grid<Seat>) c).findFirst()
-              .ifPresent(g -> g.setItems(seatService.findByCourseId(course.getId())));
+    /* ------------ carga de notas del curso completo ------------ */
+
+    private void openGradingDialog(Course course) {
+        Dialog d = new Dialog();
+        d.setWidth("60%"); d.setHeight("80vh");
+
+        H2 title = new H2();
+        title.add(new Icon(VaadinIcon.STAR),
+                  new Span(" Notas: " + course.getName()));
+        d.add(title);
+
+        Map<Long, SeatService.MarkUpdate> pending = new HashMap<>();
+
+        Grid<Seat> grid = new Grid<>(Seat.class, false);
+        grid.addColumn(s -> s.getStudent().getName()).setHeader("Alumno").setAutoWidth(true);
+        grid.addComponentColumn(seat -> {
+            NumberField mark = new NumberField();
+            mark.setMin(0); mark.setMax(10);
+            mark.setValue(seat.getMark());
+            DatePicker date = new DatePicker();
+            date.setValue(seat.getEvaluationDate());
+            date.setMax(LocalDate.now());
+
+            mark.addValueChangeListener(ev -> {
+                if (ev.getValue() != null && date.getValue() == null) date.setValue(LocalDate.now());
+                pending.put(seat.getId(), new SeatService.MarkUpdate(ev.getValue(), date.getValue()));
+            });
+            date.addValueChangeListener(ev ->
+                pending.put(seat.getId(), new SeatService.MarkUpdate(mark.getValue(), ev.getValue())));
+
+            HorizontalLayout cell = new HorizontalLayout(mark, date);
+            cell.setPadding(false);
+            return cell;
+        }).setHeader("Nota / Fecha evaluación").setAutoWidth(true);
+        grid.setItems(seatService.findByCourseId(course.getId()));
+        grid.setSizeFull();
+
+        Button save = new Button("Guardar notas", new Icon(VaadinIcon.CHECK), e -> {
+            seatService.updateMarks(pending);
+            Notification.show(pending.size() + " notas guardadas",
+                              2000, Notification.Position.BOTTOM_START);
+            d.close();
+        });
+        Button cancel = new Button("Cancelar", new Icon(VaadinIcon.CLOSE), e -> d.close());
+
+        VerticalLayout content = new VerticalLayout(grid, new HorizontalLayout(save, cancel));
+        content.setSizeFull(); content.setPadding(false);
+        content.expand(grid);
+        d.add(content);
+        d.open();
     }
 
     private void openEditSeatDialog(Seat seat, Grid<Seat> seatGrid) {
@@ -1,21 +1,28 @@
 package com.example.app.base.ui.view;
 
-import com.example.app.base.domain.Seat;
-import com.example.app.base.domain.User;
+import com.example.app.base.query.SeatListItem;
+import com.example.app.base.query.SeatQueryService;
 import com.example.app.base.service.SeatService;
+import com.example.app.base.service.TranscriptService;
 import com.example.app.security.AppRoles;
+import com.example.app.security.SessionUser;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.H2;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.icon.Icon;
 import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.VaadinSession;
 
 import jakarta.annotation.security.RolesAllowed;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
 @RolesAllowed("STUDENT")
 @PageTitle("Mis Inscripciones")
@@ -23,32 +30,55 @@ import java.util.List;
 public class StudentEnrollmentsView extends VerticalLayout {
 
     private final SeatService seatService;
-    private final Grid<Seat>  grid = new Grid<>(Seat.class, false);
+    private final SeatQueryService seatQueries;
+    private final TranscriptService transcriptService;
+    private final Grid<SeatListItem> grid = new Grid<>();
+    private final Anchor      transcriptLink = new Anchor();
 
-    public StudentEnrollmentsView(SeatService seatService) {
+    public StudentEnrollmentsView(SeatService seatService,
+                                  SeatQueryService seatQueries,
+                                  TranscriptService transcriptService) {
         this.seatService = seatService;
+        this.seatQueries = seatQueries;
+        this.transcriptService = transcriptService;
         setSizeFull();
 
         H2 header = new H2();
         header.add(new Icon(VaadinIcon.CLIPBOARD_TEXT),
                    new Span(" Mis Inscripciones"));
-        add(header);
 
-        grid.addColumn(Seat::getId).setHeader("ID").setWidth("70px");
-        grid.addColumn(s -> s.getCourse().getName())
+        transcriptLink.getElement().setAttribute("download", true);
+        transcriptLink.add(new Button("Descargar constancia", VaadinIcon.FILE_TEXT_O.create()));
+        transcriptLink.setVisible(false);
+
+        HorizontalLayout top = new HorizontalLayout(header, transcriptLink);
+        top.setWidthFull();
+        top.setDefaultVerticalComponentAlignment(Alignment.CENTER);
+        top.expand(header);
+        add(top);
+
+        grid.addColumn(SeatListItem::id).setHeader("ID").setWidth("70px");
+        grid.addColumn(SeatListItem::courseName)
             .setHeader("Curso").setAutoWidth(true);
-        grid.addColumn(Seat::getYear).setHeader("Año");
-        grid.addColumn(Seat::getMark).setHeader("Nota");
+        grid.addColumn(SeatListItem::year).setHeader("Año");
+        grid.addColumn(SeatListItem::mark).setHeader("Nota");
         grid.setSizeFull();
         add(grid);
 
-        User current = VaadinSession.getCurrent().getAttribute(User.class);
-        if (current == null || current.getRole() != AppRoles.STUDENT) {
+        SessionUser current = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (current == null || current.role() != AppRoles.STUDENT) {
             getUI().ifPresent(ui -> ui.navigate("login"));
         } else {
-            List<Seat> inscripciones =
-                seatService.findByStudentUserId(current.getId());
+            List<SeatListItem> inscripciones =
+                seatQueries.byStudentUser(current.id());
             grid.setItems(inscripciones);
+            if (!inscripciones.isEmpty()) {
+                // Las entidades sólo se cargan si se descarga la constancia
+                transcriptLink.setHref(new StreamResource("constancia.pdf",
+                        () -> new ByteArrayInputStream(transcriptService.render(
+                                seatService.findByStudentUserId(current.id())))));
+                transcriptLink.setVisible(true);
+            }
         }
     }
 }
\ No newline at end of file
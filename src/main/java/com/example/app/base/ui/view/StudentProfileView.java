@@ -3,6 +3,7 @@ package com.example.app.base.ui.view;
 import com.example.app.base.domain.*;
 import com.example.app.base.service.*;
 import com.example.app.security.AppRoles;
+import com.example.app.security.SessionUser;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.formlayout.FormLayout;
@@ -35,8 +36,8 @@ public class StudentProfileView extends VerticalLayout {
         this.personService  = personService;
         this.addressService = addressService;
 
-        User u = VaadinSession.getCurrent().getAttribute(User.class);
-        if (u == null || u.getRole() != AppRoles.STUDENT) {
+        SessionUser u = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (u == null || u.role() != AppRoles.STUDENT) {
             UI.getCurrent().navigate("login");
             return;
         }
@@ -48,7 +49,7 @@ public class StudentProfileView extends VerticalLayout {
                    new Span(" Mi Perfil de Alumno"));
         add(header);
 
-        studentService.findByUserId(u.getId()).ifPresentOrElse(student -> {
+        studentService.findByUserId(u.id()).ifPresentOrElse(student -> {
             if (student.getAddress() == null) student.setAddress(new Address());
             Binder<Student> binder = new Binder<>(Student.class);
 
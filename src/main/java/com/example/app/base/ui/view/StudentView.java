@@ -4,6 +4,7 @@ package com.example.app.base.ui.view;
 import com.example.app.base.domain.*;
 import com.example.app.base.service.*;
 import com.example.app.security.AppRoles;
+import com.example.app.security.SessionUser;
 import com.vaadin.flow.component.Text;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.html.H2;
@@ -36,8 +37,8 @@ public class StudentView extends VerticalLayout {
         this.seatService    = seatService;
         this.studentService = studentService;
 
-        User u = VaadinSession.getCurrent().getAttribute(User.class);
-        if (u == null || u.getRole() != AppRoles.STUDENT) {
+        SessionUser u = VaadinSession.getCurrent().getAttribute(SessionUser.class);
+        if (u == null || u.role() != AppRoles.STUDENT) {
             UI.getCurrent().navigate("login");
             return;
         }
@@ -46,19 +47,18 @@ public class StudentView extends VerticalLayout {
 
         H2 welcome = new H2();
         welcome.add(new Icon(VaadinIcon.ACADEMY_CAP),
-                    new Span(" Bienvenido, " + u.getUsername()));
+                    new Span(" Bienvenido, " + u.username()));
         add(welcome);
 
-        double promedio = seatService.findByStudentUserId(u.getId()).stream()
-            .mapToDouble(s -> s.getMark() != null ? s.getMark() : 0.0)
-            .average().orElse(0.0);
+        double promedio = u.personId() == null ? 0.0
+                : studentService.findAvgMark(u.personId()).orElse(0.0);
         H3 avgLabel = new H3();
         avgLabel.add(new Icon(VaadinIcon.BAR_CHART),
                      new Span(" Tu promedio de notas: "
                               + String.format("%.2f", promedio)));
         add(avgLabel);
 
-        List<Course> cursos = seatService.findByStudentUserId(u.getId())
+        List<Course> cursos = seatService.findByStudentUserId(u.id())
                                          .stream().map(Seat::getCourse)
                                          .distinct().toList();
         ListDataProvider<Course> provider = new ListDataProvider<>(cursos);
@@ -6,21 +6,20 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class CommonSecurityConfig extends VaadinWebSecurity {
 
     private final DbUserDetailsService uds;
-    private final PasswordEncoder encoder;
+    private final PasswordHashingService hashing;
     private final VaadinAuthSuccessHandler successHandler;
 
     public CommonSecurityConfig(
             DbUserDetailsService uds,
-            PasswordEncoder encoder,
+            PasswordHashingService hashing,
             VaadinAuthSuccessHandler successHandler) {
         this.uds = uds;
-        this.encoder = encoder;
+        this.hashing = hashing;
         this.successHandler = successHandler;
     }
 
@@ -51,7 +50,8 @@ public class CommonSecurityConfig extends VaadinWebSecurity {
     DaoAuthenticationProvider authenticationProvider() {
         var p = new DaoAuthenticationProvider();
         p.setUserDetailsService(uds);
-        p.setPasswordEncoder(encoder);
+        // BCrypt del login en el pool acotado: limita cuántos corren a la vez, pero el hilo de Tomcat espera el resultado
+        p.setPasswordEncoder(hashing.asPasswordEncoder());
         return p;
     }
 }
@@ -1,30 +1,28 @@
 package com.example.app.security;
 
-import com.example.app.base.domain.User;
-import com.example.app.base.repository.UserRepository;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
 
 @Service
 public class DbUserDetailsService implements UserDetailsService {
 
-    private final UserRepository repo;
+    private final UserCache userCache;
 
-    public DbUserDetailsService(UserRepository repo) {
-        this.repo = repo;
+    public DbUserDetailsService(UserCache userCache) {
+        this.userCache = userCache;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
-        User appUser = repo.findByUsername(username)
+        UserCache.CachedUser appUser = userCache.get(username)
             .orElseThrow(() ->
                 new UsernameNotFoundException("Usuario no encontrado: " + username));
 
         return org.springframework.security.core.userdetails.User
-                .withUsername(appUser.getUsername())
-                .password(appUser.getPassword())
-                .roles(appUser.getRole().name())
+                .withUsername(appUser.username())
+                .password(appUser.password())
+                .roles(appUser.role().name())
                 .build();
         }
-}
\ No newline at end of file
+}
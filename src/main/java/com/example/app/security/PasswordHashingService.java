@@ -0,0 +1,196 @@
+package com.example.app.security;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Hash y verificación BCrypt en un pool propio, acotado al número de CPUs.
+ * <p>
+ * BCrypt es CPU pura y tarda del orden de 100 ms por contraseña: ejecutado en los hilos de la UI o de Tomcat, un pico
+ * de logins o un alta masiva deja sin hilos al resto de la aplicación. Acá cada operación entra a una cola acotada;
+ * si está llena se rechaza enseguida con {@link BusyException} (contrapresión) en lugar de acumular esperas. Publica
+ * {@code password.hash} (latencia de cada operación, con tag {@code op=encode|matches}),
+ * {@code password.hash.queue} y {@code password.hash.active}.
+ * </p>
+ * <p>
+ * Sólo los editores de la UI ({@link #encodeIfPresent}) liberan el hilo que pide el hash. El login pasa por
+ * {@link #asPasswordEncoder()}, que Spring Security llama de forma sincrónica: el hilo de Tomcat sigue esperando el
+ * resultado, y lo que aporta el pool ahí es acotar cuántos BCrypt corren a la vez y rechazar enseguida cuando se
+ * desborda.
+ * </p>
+ */
+@Component
+public class PasswordHashingService {
+
+    public static class BusyException extends RuntimeException {
+        public BusyException() {
+            super("El servidor está ocupado procesando contraseñas; intentá de nuevo en unos segundos");
+        }
+    }
+
+    /* Contraseñas por tarea en los lotes: unos 16 × 100 ms, lo más que espera un login detrás de un tramo. */
+    private static final int SLICE = 16;
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+    private final int batchLanes;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHashingService(PasswordEncoder encoder,
+                                  MeterRegistry registry,
+                                  @Value("${app.password-hashing.threads:0}") int threads,
+                                  @Value("${app.password-hashing.queue:256}") int queue) {
+        this.encoder = encoder;
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger n = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.batchLanes = Math.max(1, size / 2);
+
+        this.encodeTimer  = Timer.builder("password.hash").tag("op", "encode").register(registry);
+        this.matchesTimer = Timer.builder("password.hash").tag("op", "matches").register(registry);
+        Gauge.builder("password.hash.queue", pool, p -> p.getQueue().size()).register(registry);
+        Gauge.builder("password.hash.active", pool, ThreadPoolExecutor::getActiveCount).register(registry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /** Hash en segundo plano; falla con {@link BusyException} si la cola está llena. */
+    public CompletableFuture<String> encodeAsync(CharSequence raw) {
+        return submit(() -> encodeTimer.record(() -> encoder.encode(raw)));
+    }
+
+    /** Como {@link #encodeAsync}, pero un valor vacío se resuelve en {@code null} (contraseña sin cambios). */
+    public CompletableFuture<String> encodeIfPresent(String raw) {
+        return raw == null || raw.isBlank() ? CompletableFuture.completedFuture(null) : encodeAsync(raw);
+    }
+
+    /** Mensaje para mostrar cuando falla un hash asíncrono. */
+    public static String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof BusyException ? cause.getMessage() : "No se pudo procesar la contraseña";
+    }
+
+    /** Variante bloqueante para código que ya corre fuera de la UI (servicios, importaciones). */
+    public String encode(CharSequence raw) {
+        return join(encodeAsync(raw));
+    }
+
+    public boolean matches(CharSequence raw, String encoded) {
+        return join(submit(() -> matchesTimer.record(() -> encoder.matches(raw, encoded))));
+    }
+
+    /*
+     * Lote para importaciones: se hashea en tramos de SLICE contraseñas por a lo sumo la mitad de los hilos del pool
+     * ("carriles"). Cada carril encola su próximo tramo recién al terminar el anterior, así los logins que llegan en el
+     * medio esperan un tramo y no el lote entero, y siempre quedan hilos libres para ellos.
+     */
+    public CompletableFuture<List<String>> encodeAll(List<? extends CharSequence> raws) {
+        if (raws.isEmpty()) return CompletableFuture.completedFuture(List.of());
+
+        String[] hashes = new String[raws.size()];
+        AtomicInteger next = new AtomicInteger();
+        int lanes = Math.min(batchLanes, (raws.size() + SLICE - 1) / SLICE);
+        List<CompletableFuture<Void>> running = new ArrayList<>(lanes);
+        for (int i = 0; i < lanes; i++) {
+            running.add(lane(raws, hashes, next));
+        }
+        return CompletableFuture.allOf(running.toArray(CompletableFuture[]::new))
+                                .thenApply(v -> Arrays.asList(hashes));
+    }
+
+    private CompletableFuture<Void> lane(List<? extends CharSequence> raws, String[] hashes, AtomicInteger next) {
+        int start = next.getAndAdd(SLICE);
+        if (start >= raws.size()) return CompletableFuture.completedFuture(null);
+        int end = Math.min(start + SLICE, raws.size());
+        return this.<Void>submit(() -> {
+            for (int i = start; i < end; i++) {
+                CharSequence raw = raws.get(i);
+                hashes[i] = encodeTimer.record(() -> encoder.encode(raw));
+            }
+            return null;
+        }).thenCompose(v -> lane(raws, hashes, next));
+    }
+
+    /** Variante bloqueante de {@link #encodeAll}. */
+    public List<String> encodeAllBlocking(List<? extends CharSequence> raws) {
+        return join(encodeAll(raws));
+    }
+
+    /**
+     * {@link PasswordEncoder} que delega en este pool, para el proveedor de autenticación. Bloquea al hilo que llama
+     * hasta tener el resultado. Con la cola llena lanza {@link AuthenticationServiceException}: el
+     * {@code ProviderManager} lo trata como un login fallido en lugar de propagarlo como error 500.
+     */
+    public PasswordEncoder asPasswordEncoder() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence raw) {
+                try {
+                    return PasswordHashingService.this.encode(raw);
+                } catch (BusyException ex) {
+                    throw new AuthenticationServiceException(ex.getMessage(), ex);
+                }
+            }
+
+            @Override
+            public boolean matches(CharSequence raw, String encoded) {
+                try {
+                    return PasswordHashingService.this.matches(raw, encoded);
+                } catch (BusyException ex) {
+                    throw new AuthenticationServiceException(ex.getMessage(), ex);
+                }
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encoded) {
+                return encoder.upgradeEncoding(encoded);
+            }
+        };
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, pool);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(new BusyException());
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException re) throw re;
+            throw ex;
+        }
+    }
+}
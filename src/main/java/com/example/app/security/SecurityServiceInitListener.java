@@ -8,16 +8,14 @@ import com.vaadin.flow.server.VaadinSession;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import com.example.app.base.domain.User;
-import com.example.app.base.service.UserService;
 
 @Component
 public class SecurityServiceInitListener implements VaadinServiceInitListener {
 
-    private final UserService userService;
+    private final UserCache userCache;
 
-    public SecurityServiceInitListener(UserService userService) {
-        this.userService = userService;
+    public SecurityServiceInitListener(UserCache userCache) {
+        this.userCache = userCache;
     }
 
     @Override
@@ -30,7 +28,7 @@ public class SecurityServiceInitListener implements VaadinServiceInitListener {
                 uiInitEvent.getUI().addBeforeEnterListener(before -> {
                     VaadinSession session = VaadinSession.getCurrent();
                     if (session == null) return;
-                    if (session.getAttribute(User.class) != null) {
+                    if (session.getAttribute(SessionUser.class) != null) {
                         return; 
                     }
 
@@ -39,9 +37,8 @@ public class SecurityServiceInitListener implements VaadinServiceInitListener {
                             && auth.getPrincipal() instanceof org.springframework.security.core.userdetails.User springUser) {
 
                         String username = springUser.getUsername();
-                        userService.findByUsername(username).ifPresent(domainUser -> {
-                            session.setAttribute(User.class, domainUser);
-                            });
+                        userCache.get(username).ifPresent(cached ->
+                            session.setAttribute(SessionUser.class, SessionUser.of(cached)));
                         }
                     });
                 }
@@ -0,0 +1,18 @@
+package com.example.app.security;
+
+import java.io.Serializable;
+
+/**
+ * Usuario autenticado tal como se guarda en la {@code VaadinSession}.
+ * <p>
+ * Se resuelve una sola vez al entrar y reemplaza a la entidad {@code User}: no arrastra la {@code Person} perezosa
+ * ni el hash de la contraseña, ocupa unos pocos campos por sesión y se serializa sin problemas para replicación.
+ * {@code personId} es el id del alumno, profesor o administrador asociado, o {@code null} si no tiene.
+ * </p>
+ */
+public record SessionUser(Long id, String username, AppRoles role, Long personId) implements Serializable {
+
+    static SessionUser of(UserCache.CachedUser cached) {
+        return new SessionUser(cached.id(), cached.username(), cached.role(), cached.personId());
+    }
+}
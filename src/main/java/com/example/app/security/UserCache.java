@@ -0,0 +1,98 @@
+package com.example.app.security;
+
+import com.example.app.base.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caché acotada y con vencimiento de {@code username → (id, rol, hash, persona)}.
+ * <p>
+ * La consultan {@link DbUserDetailsService} en cada login y {@link SecurityServiceInitListener} al abrir sesión, de
+ * modo que el pico de logins no golpea la tabla {@code users} dos veces por usuario. {@code UserService} la invalida
+ * al guardar o borrar usuarios. Aciertos, fallos y desalojos se publican como métricas {@code cache.*} con
+ * {@code cache=users}.
+ * </p>
+ */
+@Component
+public class UserCache {
+
+    public record CachedUser(Long id, String username, String password, AppRoles role, Long personId) {}
+
+    private final UserRepository repo;
+    private final Cache<String, CachedUser> cache;
+    private final AtomicLong generation = new AtomicLong();
+
+    public UserCache(UserRepository repo,
+                     MeterRegistry registry,
+                     @Value("${app.user-cache.maximum-size:10000}") long maximumSize,
+                     @Value("${app.user-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.repo  = repo;
+        this.cache = Caffeine.newBuilder()
+                             .maximumSize(maximumSize)
+                             .expireAfterWrite(expireAfterWrite)
+                             .recordStats()
+                             .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "users");
+    }
+
+    /*
+     * Se carga fuera de Cache.get(key, loader): ese cómputo corre dentro de un bloque synchronized de
+     * ConcurrentHashMap y la consulta JDBC fijaría el hilo virtual a su hilo portador. Si hubo una
+     * invalidación mientras se leía, el resultado se devuelve pero no se guarda.
+     */
+    public Optional<CachedUser> get(String username) {
+        CachedUser cached = cache.getIfPresent(username);
+        if (cached != null) return Optional.of(cached);
+
+        long gen = generation.get();
+        CachedUser loaded = load(username);
+        if (loaded != null && generation.get() == gen) cache.put(username, loaded);
+        return Optional.ofNullable(loaded);
+    }
+
+    public void invalidate(String username) {
+        generation.incrementAndGet();
+        cache.invalidate(username);
+    }
+
+    /* El username puede haber cambiado: se busca la entrada por id. */
+    public void invalidateById(Long userId) {
+        generation.incrementAndGet();
+        cache.asMap().values().removeIf(u -> u.id().equals(userId));
+    }
+
+    /*
+     * Para bajas de personas: el usuario se borra en cascada con la persona, sin pasar por UserService. Dentro de una
+     * transacción se invalida recién al confirmar, para que un login concurrente no vuelva a cachear la cuenta.
+     */
+    public void invalidateByIdAfterCommit(Long userId) {
+        if (userId == null) return;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateById(userId);
+                }
+            });
+        } else {
+            invalidateById(userId);
+        }
+    }
+
+    private CachedUser load(String username) {
+        return repo.findCredentialsByUsername(username)
+                   .map(r -> new CachedUser(r.getId(), r.getUsername(), r.getPassword(),
+                                            r.getRole(), r.getPersonId()))
+                   .orElse(null);
+    }
+}
@@ -1,12 +1,29 @@
 package com.example.app.taskmanagement.domain;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
 
 public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
 
     // If you don't need a total row count, Slice is better than Page as it only performs a select query.
     // Page performs both a select and a count query.
     Slice<Task> findAllBy(Pageable pageable);
+
+    // Keyset pagination on (creation_date, id): seeks past the last row seen instead of skipping OFFSET rows.
+    List<Task> findAllByOrderByCreationDateAscIdAsc(Limit limit);
+
+    @Query("""
+            SELECT t FROM Task t
+            WHERE t.creationDate > :creationDate
+               OR (t.creationDate = :creationDate AND t.id > :id)
+            ORDER BY t.creationDate ASC, t.id ASC
+            """)
+    List<Task> findAllAfter(@Param("creationDate") Instant creationDate, @Param("id") Long id, Limit limit);
 }
\ No newline at end of file
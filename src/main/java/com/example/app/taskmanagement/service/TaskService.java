@@ -3,12 +3,16 @@ package com.example.app.taskmanagement.service;
 import com.example.app.taskmanagement.domain.Task;
 import com.example.app.taskmanagement.domain.TaskRepository;
 import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -16,6 +20,8 @@ import java.util.List;
 @PreAuthorize("isAuthenticated()")
 public class TaskService {
 
+    private static final Sort KEYSET_ORDER = Sort.by("creationDate", "id");
+
     private final TaskRepository taskRepository;
 
     private final Clock clock;
@@ -37,9 +43,26 @@ public class TaskService {
         taskRepository.saveAndFlush(task);
     }
 
+    // Without an explicit sort, same order as listAfter, so both can back the same grid.
     @Transactional(readOnly = true)
     public List<Task> list(Pageable pageable) {
-        return taskRepository.findAllBy(pageable).toList();
+        Pageable page = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), KEYSET_ORDER);
+        return taskRepository.findAllBy(page).toList();
+    }
+
+    @Transactional(readOnly = true)
+    public List<Task> listAfter(@Nullable TaskKey after, int limit) {
+        return after == null
+                ? taskRepository.findAllByOrderByCreationDateAscIdAsc(Limit.of(limit))
+                : taskRepository.findAllAfter(after.creationDate(), after.id(), Limit.of(limit));
+    }
+
+    public record TaskKey(Instant creationDate, Long id) {
+        public static TaskKey of(Task task) {
+            return new TaskKey(task.getCreationDate(), task.getId());
+        }
     }
 
 }
\ No newline at end of file
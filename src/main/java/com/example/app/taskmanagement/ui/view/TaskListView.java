@@ -1,5 +1,6 @@
 package com.example.app.taskmanagement.ui.view;
 
+import com.example.app.base.ui.component.KeysetFetchCallback;
 import com.example.app.base.ui.component.ViewToolbar;
 import com.example.app.taskmanagement.domain.Task;
 import com.example.app.taskmanagement.service.TaskService;
@@ -22,8 +23,6 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
 import java.util.Optional;
 
-import static com.vaadin.flow.spring.data.VaadinSpringDataHelpers.toSpringPageRequest;
-
 @Route("task-list")
 @PageTitle("Task List")
 @Menu(order = 0, icon = "vaadin:clipboard-check", title = "Task List")
@@ -36,6 +35,7 @@ public class TaskListView extends Main {
     final DatePicker dueDate;
     final Button createBtn;
     final Grid<Task> taskGrid;
+    final KeysetFetchCallback<Task, TaskService.TaskKey> taskCursor;
 
     public TaskListView(TaskService taskService, Clock clock) {
         this.taskService = taskService;
@@ -57,8 +57,10 @@ public class TaskListView extends Main {
                 .withLocale(getLocale());
         var dateFormatter = DateTimeFormatter.ofLocalizedDate(FormatStyle.MEDIUM).withLocale(getLocale());
 
+        taskCursor = new KeysetFetchCallback<>(taskService::listAfter, taskService::list,
+                TaskService.TaskKey::of);
         taskGrid = new Grid<>();
-        taskGrid.setItems(query -> taskService.list(toSpringPageRequest(query)).stream());
+        taskGrid.setItems(taskCursor);
         taskGrid.addColumn(Task::getDescription).setHeader("Description");
         taskGrid.addColumn(task -> Optional.ofNullable(task.getDueDate()).map(dateFormatter::format).orElse("Never"))
                 .setHeader("Due Date");
@@ -75,6 +77,7 @@ public class TaskListView extends Main {
 
     private void createTask() {
         taskService.createTask(description.getValue(), dueDate.getValue());
+        taskCursor.reset();
         taskGrid.getDataProvider().refreshAll();
         description.clear();
         dueDate.clear();
@@ -0,0 +1,22 @@
+package com.example.app;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+/*
+ * Base de datos de los tests: un MySQL por contexto, conectado con @ServiceConnection. Es el mismo motor que en
+ * producción: los bloqueos de InnoDB, los UUID en BINARY(16) y el streaming del export dependen de él.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class TestcontainersConfiguration {
+
+    @Bean
+    @ServiceConnection
+    MySQLContainer<?> mysqlContainer() {
+        return new MySQLContainer<>(DockerImageName.parse("mysql:8.4"))
+                .withUrlParam("rewriteBatchedStatements", "true");
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.app.base.service;
+
+import com.example.app.base.domain.Address;
+import com.example.app.base.domain.Course;
+import com.example.app.base.domain.Professor;
+import com.example.app.base.domain.Seat;
+import com.example.app.base.domain.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Datos de prueba compartidos: un profesor con domicilio, un curso suyo y alumnos, todos con nombres y emails únicos
+ * para que los tests no choquen entre sí. delete() los borra en el orden que piden las claves foráneas.
+ */
+final class CourseFixture {
+
+    final Professor professor;
+    final Course course;
+    final List<Student> students;
+
+    private final CourseService courseService;
+    private final ProfessorService professorService;
+    private final StudentService studentService;
+
+    private CourseFixture(Professor professor, Course course, List<Student> students,
+                          CourseService courseService, ProfessorService professorService,
+                          StudentService studentService) {
+        this.professor        = professor;
+        this.course           = course;
+        this.students         = students;
+        this.courseService    = courseService;
+        this.professorService = professorService;
+        this.studentService   = studentService;
+    }
+
+    static CourseFixture create(CourseService courseService,
+                                ProfessorService professorService,
+                                StudentService studentService,
+                                int studentCount) {
+        String tag = UUID.randomUUID().toString();
+        Professor professor = professorService.save(professor(tag));
+        Course course = courseService.save(new Course("Curso " + tag, professor));
+
+        List<Student> students = new ArrayList<>(studentCount);
+        for (int i = 0; i < studentCount; i++) {
+            Student s = new Student(UUID.randomUUID(), null);
+            s.setName("Alumno " + i + " " + tag);
+            s.setEmail("alumno-" + i + "-" + tag + "@test");
+            s.setAddress(address(tag + i));
+            students.add(studentService.save(s));
+        }
+        return new CourseFixture(professor, course, students, courseService, professorService, studentService);
+    }
+
+    /* Profesor sin guardar, con domicilio. */
+    static Professor professor(String tag) {
+        Professor p = new Professor("Prof " + tag, "prof-" + tag + "@test", 1000.0);
+        p.setAddress(address(tag));
+        return p;
+    }
+
+    static Address address(String tag) {
+        Address a = new Address();
+        a.setStreet("Calle " + tag);
+        a.setCity("Ciudad");
+        a.setState("Provincia");
+        a.setCountry("País");
+        return a;
+    }
+
+    Seat newSeat(Student student) {
+        Seat seat = new Seat();
+        seat.setStudent(student);
+        seat.setCourse(course);
+        seat.setYear(LocalDate.now());
+        return seat;
+    }
+
+    void delete() {
+        courseService.deleteById(course.getId());
+        students.forEach(s -> studentService.deleteById(s.getId()));
+        professorService.deleteById(professor.getId());
+    }
+}
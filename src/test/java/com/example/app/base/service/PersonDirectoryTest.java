@@ -0,0 +1,43 @@
+package com.example.app.base.service;
+
+import com.example.app.TestcontainersConfiguration;
+import com.example.app.base.domain.PersonDirectoryEntry;
+import com.example.app.base.domain.Professor;
+import com.example.app.base.repository.PersonDirectoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/* person_directory sigue a las altas, modificaciones y bajas hechas por los servicios. */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+class PersonDirectoryTest {
+
+    @Autowired ProfessorService professorService;
+    @Autowired PersonDirectoryRepository directoryRepo;
+
+    @Test
+    void followsProfessorWrites() {
+        String tag = UUID.randomUUID().toString();
+        Professor saved = professorService.save(CourseFixture.professor(tag));
+
+        PersonDirectoryEntry entry = directoryRepo.findById(saved.getId()).orElseThrow();
+        assertEquals(PersonDirectoryEntry.Type.PROFESSOR, entry.getType());
+        assertEquals("Ciudad", entry.getCity());
+
+        saved.setName("Renombrado " + tag);
+        professorService.save(saved);
+        assertEquals("Renombrado " + tag, directoryRepo.findById(saved.getId()).orElseThrow().getName());
+
+        professorService.deleteById(saved.getId());
+        assertTrue(directoryRepo.findById(saved.getId()).isEmpty());
+    }
+}
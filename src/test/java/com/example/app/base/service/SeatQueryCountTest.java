@@ -0,0 +1,79 @@
+package com.example.app.base.service;
+
+import com.example.app.TestcontainersConfiguration;
+import com.example.app.base.domain.Seat;
+import com.example.app.base.query.SeatQueryService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/* Cada página de las grillas de inscripciones tiene que salir en una consulta, sin importar cuántas filas trae. */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+class SeatQueryCountTest {
+
+    private static final int STUDENTS = 20;
+
+    @Autowired SeatService seatService;
+    @Autowired SeatQueryService seatQueries;
+    @Autowired CourseService courseService;
+    @Autowired ProfessorService professorService;
+    @Autowired StudentService studentService;
+    @Autowired EntityManagerFactory emf;
+
+    private Statistics stats;
+    private CourseFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        fixture = CourseFixture.create(courseService, professorService, studentService, STUDENTS);
+        fixture.students.forEach(s -> seatService.save(fixture.newSeat(s)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.delete();
+    }
+
+    @Test
+    void courseSeatsLoadInOneQuery() {
+        stats.clear();
+        List<Seat> seats = seatService.findByCourseId(fixture.course.getId());
+        seats.forEach(s -> s.getStudent().getName().length());
+
+        assertEquals(STUDENTS, seats.size());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void changedSeatsReloadInOneQuery() {
+        List<Long> ids = seatService.findByCourseId(fixture.course.getId()).stream().map(Seat::getId).toList();
+
+        stats.clear();
+        List<Seat> seats = seatService.findAllById(ids);
+        seats.forEach(s -> s.getCourse().getProfessor().getName().length());
+
+        assertEquals(STUDENTS, seats.size());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void seatItemsLoadInOneQuery() {
+        stats.clear();
+        assertEquals(STUDENTS, seatQueries.byCourse(fixture.course.getId()).size());
+        assertEquals(1, stats.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.app.base.service;
+
+import com.example.app.TestcontainersConfiguration;
+import com.example.app.base.domain.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+class SeatServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired SeatService seatService;
+    @Autowired CourseService courseService;
+    @Autowired ProfessorService professorService;
+    @Autowired StudentService studentService;
+
+    private CourseFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        fixture = CourseFixture.create(courseService, professorService, studentService, THREADS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.delete();
+    }
+
+    @Test
+    void sameStudentEnrolledConcurrentlyIsStoredOnce() throws Exception {
+        Student student = fixture.students.get(0);
+        AtomicInteger duplicates = new AtomicInteger();
+
+        runConcurrently(i -> {
+            try {
+                seatService.save(fixture.newSeat(student));
+            } catch (SeatService.DuplicateEnrollmentException e) {
+                duplicates.incrementAndGet();
+            }
+        });
+
+        assertEquals(1, seatService.countByCourseId(fixture.course.getId()));
+        assertEquals(THREADS - 1, duplicates.get());
+    }
+
+    @Test
+    void distinctStudentsEnrolledConcurrentlyAreAllStored() throws Exception {
+        runConcurrently(i -> seatService.save(fixture.newSeat(fixture.students.get(i))));
+
+        assertEquals(THREADS, seatService.countByCourseId(fixture.course.getId()));
+    }
+
+    private void runConcurrently(IntConsumer task) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < THREADS; i++) {
+                int n = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    task.accept(n);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.app.base.service;
+
+import com.example.app.TestcontainersConfiguration;
+import com.example.app.base.domain.Course;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/* Cursos y profesores se leen de la caché de segundo nivel después de la primera carga. */
+@SpringBootTest
+@Import(TestcontainersConfiguration.class)
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired CourseService courseService;
+    @Autowired ProfessorService professorService;
+    @Autowired StudentService studentService;
+    @Autowired EntityManagerFactory emf;
+
+    private Statistics stats;
+    private CourseFixture fixture;
+
+    @BeforeEach
+    void setUp() {
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        fixture = CourseFixture.create(courseService, professorService, studentService, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fixture.delete();
+    }
+
+    @Test
+    void courseWithProfessorLoadsFromCache() {
+        courseService.findById(fixture.course.getId()).orElseThrow();
+
+        stats.clear();
+        Course cached = courseService.findById(fixture.course.getId()).orElseThrow();
+        cached.getProfessor().getAddress().getCity().length();
+
+        assertEquals(0, stats.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllIsServedByQueryCache() {
+        courseService.findAll();
+        professorService.findAll();
+
+        stats.clear();
+        assertTrue(courseService.findAll().contains(fixture.course));
+        assertTrue(professorService.findAll().stream().anyMatch(p -> p.getId().equals(fixture.professor.getId())));
+
+        assertEquals(0, stats.getPrepareStatementCount());
+    }
+}
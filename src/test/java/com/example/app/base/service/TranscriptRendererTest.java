@@ -0,0 +1,105 @@
+package com.example.app.base.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Estructura del PDF que escribe TranscriptRenderer a mano: cada entrada de la tabla xref apunta a su "N 0 obj",
+ * startxref apunta a la tabla, /Count coincide con las páginas y cada /Length con su stream. Un desfasaje de un byte
+ * no lo nota la mayoría de los visores (reconstruyen la tabla), pero sí los validadores y algunos lectores móviles.
+ */
+class TranscriptRendererTest {
+
+    private static final Pattern XREF_ENTRY = Pattern.compile("(\\d{10}) (\\d{5}) ([nf]) \n");
+    private static final Pattern STREAM = Pattern.compile("(\\d+) 0 obj\n<< /Length (\\d+) >>\nstream\n");
+
+    private final TranscriptRenderer renderer = new TranscriptRenderer();
+
+    @Test
+    void noLinesRendersOnePage() {
+        assertWellFormed(render(0), 1);
+    }
+
+    @Test
+    void oneLineRendersOnePage() {
+        assertWellFormed(render(1), 1);
+    }
+
+    @Test
+    void linesBeyondOnePageRenderMorePages() {
+        assertWellFormed(render(40), 1);
+        assertWellFormed(render(41), 2);
+        assertWellFormed(render(81), 3);
+    }
+
+    private String render(int lineCount) {
+        List<TranscriptRenderer.Line> lines = new ArrayList<>(lineCount);
+        for (int i = 0; i < lineCount; i++) {
+            // Acentos y paréntesis: bytes Latin-1 y escapes que cambian el largo del contenido.
+            lines.add(new TranscriptRenderer.Line("Matemática (" + i + ")", LocalDate.of(2024, 3, 1),
+                                                  i % 3 == 0 ? null : 4.0 + i % 7, LocalDate.of(2024, 7, 15)));
+        }
+        byte[] pdf = renderer.render(new TranscriptRenderer.Transcript("Alumno Pérez", UUID.randomUUID(), lines));
+        // Latin-1 lleva cada byte a un char, así que los índices del String son offsets del archivo.
+        return new String(pdf, StandardCharsets.ISO_8859_1);
+    }
+
+    private static void assertWellFormed(String pdf, int pages) {
+        assertTrue(pdf.startsWith("%PDF-1.4\n"), "cabecera");
+        assertTrue(pdf.endsWith("\n%%EOF\n"), "fin de archivo");
+
+        Matcher startxref = Pattern.compile("startxref\n(\\d+)\n%%EOF\n$").matcher(pdf);
+        assertTrue(startxref.find(), "startxref");
+        int xref = Integer.parseInt(startxref.group(1));
+        assertTrue(pdf.startsWith("xref\n0 ", xref), "startxref apunta a la tabla xref");
+
+        int header = pdf.indexOf('\n', xref + 5);
+        int size = Integer.parseInt(pdf.substring(xref + 7, header));
+        assertEquals(4 + pages * 2 + 1, size, "entradas de la tabla xref");
+        assertTrue(pdf.contains("/Size " + size + " "), "/Size del trailer");
+
+        Matcher entry = XREF_ENTRY.matcher(pdf);
+        int at = header + 1;
+        for (int obj = 0; obj < size; obj++) {
+            assertTrue(entry.find(at) && entry.start() == at, "entrada " + obj + " de la tabla xref");
+            at = entry.end();
+            if (obj == 0) {
+                assertEquals("f", entry.group(3));
+                continue;
+            }
+            int offset = Integer.parseInt(entry.group(1));
+            assertTrue(pdf.startsWith(obj + " 0 obj\n", offset),
+                       "la entrada " + obj + " apunta a su objeto (offset " + offset + ")");
+        }
+        assertTrue(pdf.startsWith("trailer\n", at), "trailer después de la tabla");
+
+        assertTrue(pdf.contains("/Count " + pages + " >>"), "/Count");
+        assertEquals(pages, count(pdf, "/Type /Page /Parent"), "objetos de página");
+
+        Matcher stream = STREAM.matcher(pdf);
+        int streams = 0;
+        while (stream.find()) {
+            int length = Integer.parseInt(stream.group(2));
+            assertTrue(pdf.startsWith("\nendstream\n", stream.end() + length),
+                       "/Length del objeto " + stream.group(1));
+            streams++;
+        }
+        assertEquals(pages, streams, "un contenido por página");
+    }
+
+    private static int count(String text, String token) {
+        int n = 0;
+        for (int i = text.indexOf(token); i >= 0; i = text.indexOf(token, i + token.length())) n++;
+        return n;
+    }
+}
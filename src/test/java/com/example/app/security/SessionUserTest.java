@@ -0,0 +1,61 @@
+package com.example.app.security;
+
+import com.example.app.base.domain.Address;
+import com.example.app.base.domain.Student;
+import com.example.app.base.domain.User;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Lo que ocupa el usuario en la VaadinSession al serializarla (persistencia o replicación de sesiones). Antes se
+ * guardaba la entidad User desprendida, con su Person y el hash de la contraseña: ni siquiera es Serializable, así
+ * que la sesión entera fallaba al escribirse. SessionUser son cuatro campos.
+ */
+class SessionUserTest {
+
+    /* Unos 370 bytes con nombres de usuario habituales; el margen cubre nombres largos. */
+    private static final int MAX_SERIALIZED_BYTES = 512;
+
+    @Test
+    void sessionUserSerializesInAFewHundredBytes() throws IOException {
+        SessionUser user = new SessionUser(42L, "alumno.perez", AppRoles.STUDENT, 1234L);
+
+        int size = serializedSize(user);
+
+        assertTrue(size <= MAX_SERIALIZED_BYTES, "SessionUser serializado ocupa " + size + " bytes");
+    }
+
+    @Test
+    void detachedUserWithPersonIsNotSerializable() {
+        User user = new User("alumno.perez", "$2a$10$" + "x".repeat(53), AppRoles.STUDENT);
+        user.setId(42L);
+        Student student = new Student(UUID.randomUUID(), 8.5);
+        student.setId(1234L);
+        student.setName("Alumno Pérez");
+        student.setEmail("alumno.perez@test");
+        Address address = new Address();
+        address.setStreet("Calle 1");
+        address.setCity("Ciudad");
+        student.setAddress(address);
+        student.setUser(user);
+        user.setPerson(student);
+
+        assertThrows(NotSerializableException.class, () -> serializedSize(user));
+    }
+
+    private static int serializedSize(Object value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        }
+        return bytes.size();
+    }
+}